@@ -0,0 +1,66 @@
+package io.github.thiagolvlsantos.file.rest.storage.loadtest;
+
+import java.io.File;
+import java.io.PrintStream;
+
+import io.github.thiagolvlsantos.file.rest.storage.loadtest.model.Item;
+import io.github.thiagolvlsantos.file.rest.storage.loadtest.model.ItemService;
+import io.github.thiagolvlsantos.file.storage.KeyParams;
+import io.github.thiagolvlsantos.git.transactions.GitServices;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class DispatchProbe {
+
+	private final LoadTestProperties properties;
+	private final ItemService service;
+	private final GitServices gits;
+
+	public void run(PrintStream out) {
+		int iterations = properties.getOverhead();
+		if (iterations <= 0 || properties.getSeed() <= 0) {
+			return;
+		}
+		File dir = gits.readDirectory(Item.REPO);
+		String filter = null;
+		Samples[] read = { new Samples(), new Samples() };
+		Samples[] count = { new Samples(), new Samples() };
+		// first half warms up the JIT, only the second half is recorded
+		for (int i = 0; i < 2 * iterations; i++) {
+			KeyParams keys = KeyParams.of("item-" + (i % properties.getSeed()));
+			boolean record = i >= iterations;
+
+			long now = System.nanoTime();
+			service.repository().read(dir, keys);
+			sample(read[0], now, record);
+			now = System.nanoTime();
+			service.read(keys, null, null);
+			sample(read[1], now, record);
+
+			now = System.nanoTime();
+			service.repository().count(dir, filter, null);
+			sample(count[0], now, record);
+			now = System.nanoTime();
+			service.count(filter, null, null, null);
+			sample(count[1], now, record);
+		}
+		out.println();
+		out.printf("Service dispatch overhead, %d calls each%n", iterations);
+		out.printf("%-14s %12s %12s %12s%n", "operation", "direct(us)", "service(us)", "overhead(us)");
+		report(out, "read", read);
+		report(out, "count", count);
+	}
+
+	private void sample(Samples samples, long start, boolean record) {
+		long elapsed = System.nanoTime() - start;
+		if (record) {
+			samples.add(elapsed);
+		}
+	}
+
+	private void report(PrintStream out, String operation, Samples[] samples) {
+		double direct = samples[0].percentile(samples[0].sorted(), 50) * 1000;
+		double service = samples[1].percentile(samples[1].sorted(), 50) * 1000;
+		out.printf("%-14s %12.1f %12.1f %12.1f%n", operation, direct, service, service - direct);
+	}
+}
@@ -0,0 +1,230 @@
+package io.github.thiagolvlsantos.file.rest.storage.loadtest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.util.EntityUtils;
+
+import io.github.thiagolvlsantos.file.rest.storage.loadtest.model.Item;
+import lombok.SneakyThrows;
+
+public class LoadDriver implements Closeable {
+
+	private final LoadTestProperties properties;
+	private final String root;
+	private final LocalRemote remote;
+	private final List<String> names = new CopyOnWriteArrayList<>();
+	private final List<String[]> resources = new CopyOnWriteArrayList<>();
+	private final AtomicLong sequence = new AtomicLong();
+	// HttpURLConnection cannot send PATCH, the pool matches the number of clients
+	private final CloseableHttpClient http;
+
+	public LoadDriver(LoadTestProperties properties, String root, LocalRemote remote) {
+		this.properties = properties;
+		this.root = root;
+		this.remote = remote;
+		int connections = Math.max(1, properties.getClients());
+		this.http = HttpClients.custom().setMaxConnTotal(connections).setMaxConnPerRoute(connections)
+				.disableAutomaticRetries().build();
+	}
+
+	public void seed() {
+		for (int i = 0; i < properties.getSeed(); i++) {
+			String name = "item-" + i;
+			String path = "docs/readme.txt";
+			call("save", name, null);
+			names.add(name);
+			if (call("setResource", name, path)) {
+				resources.add(new String[] { name, path });
+			}
+		}
+	}
+
+	@SneakyThrows
+	public void run(PrintStream out) {
+		List<String> operations = new ArrayList<>();
+		int total = 0;
+		for (Entry<String, Integer> e : properties.getMix().entrySet()) {
+			operations.add(e.getKey());
+			total += e.getValue();
+		}
+		int[] weights = new int[operations.size()];
+		for (int i = 0; i < weights.length; i++) {
+			weights[i] = properties.getMix().get(operations.get(i));
+		}
+		long start = System.nanoTime() + properties.getWarmup() * 1_000_000_000L;
+		long end = start + properties.getDuration() * 1_000_000_000L;
+
+		ExecutorService executor = Executors.newFixedThreadPool(properties.getClients());
+		List<Future<Map<String, Samples>>> futures = new ArrayList<>();
+		final int sum = total;
+		for (int c = 0; c < properties.getClients(); c++) {
+			futures.add(executor.submit(() -> client(operations, weights, sum, start, end)));
+		}
+		while (System.nanoTime() < start) {
+			Thread.sleep(50);
+		}
+		long commitsBefore = remote.commits();
+		Map<String, Samples> merged = new LinkedHashMap<>();
+		for (Future<Map<String, Samples>> f : futures) {
+			for (Entry<String, Samples> e : f.get().entrySet()) {
+				merged.computeIfAbsent(e.getKey(), k -> new Samples()).merge(e.getValue());
+			}
+		}
+		executor.shutdown();
+		long commits = remote.commits() - commitsBefore;
+		report(out, merged, commits);
+	}
+
+	private Map<String, Samples> client(List<String> operations, int[] weights, int total, long start, long end) {
+		Map<String, Samples> samples = new LinkedHashMap<>();
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		long now;
+		while ((now = System.nanoTime()) < end) {
+			int pick = random.nextInt(total);
+			int index = 0;
+			while (pick >= weights[index]) {
+				pick -= weights[index++];
+			}
+			String operation = operations.get(index);
+			String name;
+			String path = null;
+			switch (operation) {
+			case "save":
+				name = "item-" + UUID.randomUUID();
+				break;
+			case "getResource":
+				String[] resource = pick(resources, random);
+				name = resource != null ? resource[0] : null;
+				path = resource != null ? resource[1] : null;
+				break;
+			case "setResource":
+				name = pick(names, random);
+				path = "docs/" + sequence.incrementAndGet() + ".txt";
+				break;
+			default:
+				name = pick(names, random);
+			}
+			// nothing to target yet (e.g. seeding failed), counted as an error instead of killing the client
+			boolean ok = name != null && call(operation, name, path);
+			long elapsed = System.nanoTime() - now;
+			if (now >= start) {
+				Samples s = samples.computeIfAbsent(operation, k -> new Samples());
+				if (ok) {
+					s.add(elapsed);
+				} else {
+					s.error();
+				}
+			}
+			if (ok && "save".equals(operation)) {
+				names.add(name);
+			}
+			if (ok && "setResource".equals(operation)) {
+				resources.add(new String[] { name, path });
+			}
+		}
+		return samples;
+	}
+
+	private static <E> E pick(List<E> values, ThreadLocalRandom random) {
+		return values.isEmpty() ? null : values.get(random.nextInt(values.size()));
+	}
+
+	protected boolean call(String operation, String name, String resource) {
+		String template = properties.getPaths().get(operation);
+		if (template == null) {
+			throw new IllegalArgumentException("No path configured for operation '" + operation + "'.");
+		}
+		String[] parts = template.split(" ", 2);
+		String path = parts[1]//
+				.replace("{entity}", Item.REPO)//
+				.replace("{name}", encode(name))//
+				.replace("{property}", "description")//
+				.replace("{path}", resource != null ? encode(resource) : "");
+		try {
+			return send(parts[0], root + path, body(operation, name, resource)) < 400;
+		} catch (Exception e) {
+			return false;
+		}
+	}
+
+	protected String body(String operation, String name, String resource) {
+		switch (operation) {
+		case "save":
+			return "{\"name\":\"" + name + "\"}";
+		case "setProperty":
+			return "\"updated " + UUID.randomUUID() + "\"";
+		case "setResource":
+			return "{\"metadata\":{\"path\":\"" + resource + "\",\"contentType\":\"text/plain\"},"
+					+ "\"content\":{\"data\":\"" + name + " " + UUID.randomUUID() + "\"}}";
+		default:
+			return null;
+		}
+	}
+
+	private int send(String method, String url, String body) throws Exception {
+		RequestBuilder request = RequestBuilder.create(method).setUri(url).setHeader("Accept", "application/json");
+		if (body != null) {
+			request.setEntity(new StringEntity(body, ContentType.APPLICATION_JSON));
+		}
+		try (CloseableHttpResponse response = http.execute(request.build())) {
+			// the connection goes back to the pool only when fully consumed
+			EntityUtils.consume(response.getEntity());
+			return response.getStatusLine().getStatusCode();
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		http.close();
+	}
+
+	@SneakyThrows
+	private String encode(String value) {
+		return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
+	}
+
+	private void report(PrintStream out, Map<String, Samples> samples, long commits) {
+		double seconds = properties.getDuration();
+		out.println();
+		out.printf("Clients: %d, duration: %ds, warmup: %ds%n", properties.getClients(), properties.getDuration(),
+				properties.getWarmup());
+		out.printf("%-14s %9s %7s %9s %9s %9s %9s %9s%n", "operation", "count", "errors", "ops/s", "p50(ms)",
+				"p95(ms)", "p99(ms)", "max(ms)");
+		long count = 0;
+		List<String> operations = new ArrayList<>(samples.keySet());
+		Collections.sort(operations);
+		for (String operation : operations) {
+			Samples s = samples.get(operation);
+			long[] sorted = s.sorted();
+			count += s.count();
+			out.printf("%-14s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", operation, s.count(), s.errors(),
+					s.count() / seconds, s.percentile(sorted, 50), s.percentile(sorted, 95), s.percentile(sorted, 99),
+					s.percentile(sorted, 100));
+		}
+		out.printf("%-14s %9d %7s %9.1f%n", "total", count, "", count / seconds);
+		out.printf("Commits: %d (%.2f/s)%n", commits, commits / seconds);
+	}
+}
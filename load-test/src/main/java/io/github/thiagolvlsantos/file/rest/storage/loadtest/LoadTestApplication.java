@@ -0,0 +1,42 @@
+package io.github.thiagolvlsantos.file.rest.storage.loadtest;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import io.github.thiagolvlsantos.file.rest.storage.EnableFileRestStorage;
+import io.github.thiagolvlsantos.file.rest.storage.loadtest.model.ItemService;
+import io.github.thiagolvlsantos.git.transactions.GitServices;
+
+@SpringBootApplication
+@EnableFileRestStorage
+public class LoadTestApplication {
+
+	public static void main(String[] args) throws Exception {
+		String workspace = System.getProperty("loadtest.workspace");
+		File dir = workspace != null ? new File(workspace)
+				: Files.createTempDirectory("file-rest-storage-loadtest").toFile();
+		System.setProperty("loadtest.workspace", dir.getAbsolutePath());
+		LocalRemote remote = new LocalRemote(dir);
+
+		int status = 0;
+		try (ServletWebServerApplicationContext context = (ServletWebServerApplicationContext) SpringApplication
+				.run(LoadTestApplication.class, args)) {
+			LoadTestProperties properties = context.getBean(LoadTestProperties.class);
+			String root = "http://localhost:" + context.getWebServer().getPort() + properties.getBase();
+			try (LoadDriver driver = new LoadDriver(properties, root, remote)) {
+				driver.seed();
+				new DispatchProbe(properties, context.getBean(ItemService.class), context.getBean(GitServices.class))
+						.run(System.out);
+				driver.run(System.out);
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+			status = 1;
+		}
+		System.exit(status);
+	}
+}
@@ -0,0 +1,27 @@
+package io.github.thiagolvlsantos.file.rest.storage.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "loadtest")
+public class LoadTestProperties {
+
+	private String workspace;
+	private int clients = 16;
+	private int warmup = 10;
+	private int duration = 60;
+	private int seed = 200;
+	private int overhead = 5000;
+	private String base = "";
+	private Map<String, Integer> mix = new LinkedHashMap<>();
+	private Map<String, String> paths = new LinkedHashMap<>();
+}
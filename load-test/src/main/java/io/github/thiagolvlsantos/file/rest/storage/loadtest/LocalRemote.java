@@ -0,0 +1,46 @@
+package io.github.thiagolvlsantos.file.rest.storage.loadtest;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+
+import lombok.Getter;
+import lombok.SneakyThrows;
+
+@Getter
+public class LocalRemote {
+
+	private final File directory;
+
+	@SneakyThrows
+	public LocalRemote(File workspace) {
+		this.directory = new File(workspace, "remote.git");
+		Git.init().setBare(true).setDirectory(directory).call().close();
+		File seed = new File(workspace, "seed");
+		try (Git git = Git.cloneRepository().setURI(directory.toURI().toString()).setDirectory(seed).call()) {
+			Files.write(new File(seed, "README.md").toPath(), "load test remote\n".getBytes());
+			git.add().addFilepattern("README.md").call();
+			git.commit().setMessage("Initial commit.").setAuthor("loadtest", "loadtest@localhost").call();
+			git.push().call();
+		}
+	}
+
+	@SneakyThrows
+	public long commits() {
+		try (Git git = Git.open(directory)) {
+			Repository repository = git.getRepository();
+			if (repository.resolve("HEAD") == null) {
+				return 0;
+			}
+			long count = 0;
+			for (@SuppressWarnings("unused")
+			RevCommit c : git.log().call()) {
+				count++;
+			}
+			return count;
+		}
+	}
+}
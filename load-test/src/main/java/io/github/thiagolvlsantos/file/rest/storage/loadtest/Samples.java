@@ -0,0 +1,50 @@
+package io.github.thiagolvlsantos.file.rest.storage.loadtest;
+
+import java.util.Arrays;
+
+public class Samples {
+
+	private long[] values = new long[1024];
+	private int size;
+	private long errors;
+
+	public void add(long nanos) {
+		if (size == values.length) {
+			values = Arrays.copyOf(values, size * 2);
+		}
+		values[size++] = nanos;
+	}
+
+	public void error() {
+		errors++;
+	}
+
+	public void merge(Samples other) {
+		for (int i = 0; i < other.size; i++) {
+			add(other.values[i]);
+		}
+		errors += other.errors;
+	}
+
+	public int count() {
+		return size;
+	}
+
+	public long errors() {
+		return errors;
+	}
+
+	public double percentile(long[] sorted, double p) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+		return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+	}
+
+	public long[] sorted() {
+		long[] copy = Arrays.copyOf(values, size);
+		Arrays.sort(copy);
+		return copy;
+	}
+}
@@ -0,0 +1,34 @@
+package io.github.thiagolvlsantos.file.rest.storage.loadtest.model;
+
+import java.util.List;
+import java.util.Map;
+
+import io.github.thiagolvlsantos.file.storage.annotations.FileKey;
+import io.github.thiagolvlsantos.file.storage.annotations.FileRepo;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FileRepo(Item.REPO)
+public class Item {
+
+	public static final String REPO = "items";
+
+	@FileKey
+	private String name;
+
+	private String description;
+
+	private String owner;
+
+	private List<String> tags;
+
+	private Map<String, Object> payload;
+}
@@ -0,0 +1,19 @@
+package io.github.thiagolvlsantos.file.rest.storage.loadtest.model;
+
+import io.github.thiagolvlsantos.file.storage.annotations.FileAliasFor;
+import io.github.thiagolvlsantos.file.storage.annotations.FileKey;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@FileAliasFor(Item.class)
+public class ItemAlias {
+
+	@FileKey
+	private String name;
+}
@@ -0,0 +1,13 @@
+package io.github.thiagolvlsantos.file.rest.storage.loadtest.model;
+
+import org.springframework.stereotype.Repository;
+
+import io.github.thiagolvlsantos.file.storage.util.repository.AbstractFileRepository;
+
+@Repository
+public class ItemRepository extends AbstractFileRepository<Item> {
+
+	public ItemRepository() {
+		super(Item.class);
+	}
+}
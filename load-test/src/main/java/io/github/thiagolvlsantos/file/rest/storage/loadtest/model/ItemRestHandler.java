@@ -0,0 +1,18 @@
+package io.github.thiagolvlsantos.file.rest.storage.loadtest.model;
+
+import org.springframework.stereotype.Component;
+
+import io.github.thiagolvlsantos.file.rest.storage.rest.AbstractFileRestHandler;
+
+@Component
+public class ItemRestHandler extends AbstractFileRestHandler<Item, ItemAlias> {
+
+	public ItemRestHandler() {
+		super(Item.REPO, Item.class, ItemAlias.class);
+	}
+
+	@Override
+	protected Item toInstance(ItemAlias alias) {
+		return Item.builder().name(alias.getName()).build();
+	}
+}
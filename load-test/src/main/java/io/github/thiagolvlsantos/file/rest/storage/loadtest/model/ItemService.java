@@ -0,0 +1,11 @@
+package io.github.thiagolvlsantos.file.rest.storage.loadtest.model;
+
+import org.springframework.stereotype.Service;
+
+import io.github.thiagolvlsantos.file.rest.storage.service.AbstractFileService;
+import io.github.thiagolvlsantos.git.transactions.GitRepo;
+
+@Service
+@GitRepo(Item.REPO)
+public class ItemService extends AbstractFileService<Item> {
+}
@@ -0,0 +1,23 @@
+package io.github.thiagolvlsantos.file.rest.storage.error;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import io.github.thiagolvlsantos.file.rest.storage.exceptions.AdmissionRejectedException;
+import io.github.thiagolvlsantos.rest.storage.error.AbstractExceptionHandler;
+import io.github.thiagolvlsantos.rest.storage.error.ApiFailure;
+
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ControllerAdvice
+public class RestExceptionHandlerAdmission extends AbstractExceptionHandler {
+
+	@ExceptionHandler(AdmissionRejectedException.class)
+	protected ResponseEntity<Object> handleAdmissionRejected(AdmissionRejectedException ex) {
+		HttpStatus status = ex.isQueueFull() ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.SERVICE_UNAVAILABLE;
+		return buildResponseEntity(new ApiFailure(status, ex.getMessage(), ex));
+	}
+}
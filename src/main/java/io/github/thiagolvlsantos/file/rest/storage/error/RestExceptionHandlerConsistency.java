@@ -0,0 +1,22 @@
+package io.github.thiagolvlsantos.file.rest.storage.error;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import io.github.thiagolvlsantos.file.rest.storage.exceptions.StaleReadException;
+import io.github.thiagolvlsantos.rest.storage.error.AbstractExceptionHandler;
+import io.github.thiagolvlsantos.rest.storage.error.ApiFailure;
+
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ControllerAdvice
+public class RestExceptionHandlerConsistency extends AbstractExceptionHandler {
+
+	@ExceptionHandler(StaleReadException.class)
+	protected ResponseEntity<Object> handleStaleRead(StaleReadException ex) {
+		return buildResponseEntity(new ApiFailure(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), ex));
+	}
+}
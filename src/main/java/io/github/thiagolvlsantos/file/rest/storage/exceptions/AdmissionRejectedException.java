@@ -0,0 +1,18 @@
+package io.github.thiagolvlsantos.file.rest.storage.exceptions;
+
+import lombok.Getter;
+
+@Getter
+public class AdmissionRejectedException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final String key;
+	private final boolean queueFull;
+
+	public AdmissionRejectedException(String message, String key, boolean queueFull) {
+		super(message);
+		this.key = key;
+		this.queueFull = queueFull;
+	}
+}
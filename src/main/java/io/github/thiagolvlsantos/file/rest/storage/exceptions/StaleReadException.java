@@ -0,0 +1,16 @@
+package io.github.thiagolvlsantos.file.rest.storage.exceptions;
+
+import lombok.Getter;
+
+@Getter
+public class StaleReadException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final String commit;
+
+	public StaleReadException(String message, String commit) {
+		super(message);
+		this.commit = commit;
+	}
+}
@@ -2,10 +2,24 @@ package io.github.thiagolvlsantos.file.rest.storage.rest;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.springframework.beans.factory.annotation.Autowired;
 
+import io.github.thiagolvlsantos.file.rest.storage.rest.aggregation.AggregationVO;
+import io.github.thiagolvlsantos.file.rest.storage.rest.aggregation.RestAggregateEvent;
+import io.github.thiagolvlsantos.file.rest.storage.rest.bulk.BulkResultVO;
+import io.github.thiagolvlsantos.file.rest.storage.rest.bulk.RestSetPropertiesBulkEvent;
+import io.github.thiagolvlsantos.file.rest.storage.rest.changes.ChangesVO;
+import io.github.thiagolvlsantos.file.rest.storage.rest.changes.RestChangesEvent;
+import io.github.thiagolvlsantos.file.rest.storage.rest.patch.RestPatchEvent;
+import io.github.thiagolvlsantos.file.rest.storage.rest.transfer.RestExportEvent;
+import io.github.thiagolvlsantos.file.rest.storage.rest.transfer.RestImportEvent;
+import io.github.thiagolvlsantos.file.rest.storage.rest.transfer.TransferVO;
 import io.github.thiagolvlsantos.file.rest.storage.service.AbstractFileService;
+import io.github.thiagolvlsantos.file.rest.storage.service.ReadConsistency;
+import io.github.thiagolvlsantos.file.rest.storage.service.WriteStatus;
 import io.github.thiagolvlsantos.file.storage.KeyParams;
 import io.github.thiagolvlsantos.file.storage.annotations.UtilAnnotations;
 import io.github.thiagolvlsantos.file.storage.exceptions.FileStorageException;
@@ -34,6 +48,7 @@ import io.github.thiagolvlsantos.rest.storage.rest.resources.RestGetResourceEven
 import io.github.thiagolvlsantos.rest.storage.rest.resources.RestListResourcesEvent;
 import io.github.thiagolvlsantos.rest.storage.rest.resources.RestSetResourceEvent;
 import io.github.thiagolvlsantos.rest.storage.rest.resources.RestUpdateResourceEvent;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.SneakyThrows;
@@ -42,27 +57,76 @@ import lombok.SneakyThrows;
 @Setter
 public abstract class AbstractFileRestHandler<P, Q> extends AbstractRestHandler<P> {
 
+	protected String entityName;
 	protected Class<Q> typeAlias;
 	protected @Autowired IObjectMapper objectMapper;
 	protected @Autowired AbstractFileService<P> service;
+	protected @Autowired ReadConsistency consistency;
+	protected @Autowired AdmissionControl admission;
 
 	protected AbstractFileRestHandler(String entity, Class<P> type, Class<Q> typeAlias) {
 		super(entity, type);
+		this.entityName = entity;
 		this.typeAlias = typeAlias;
 	}
 
+	protected <R> R written(Supplier<R> call) {
+		WriteStatus.reset();
+		try {
+			R result = call.get();
+			if (WriteStatus.consumeUnchanged()) {
+				RestHeaders.set(RestHeaders.UNCHANGED, "true");
+			}
+			String commit = service.lastCommit();
+			if (commit != null) {
+				RestHeaders.set(RestHeaders.COMMIT, commit);
+			}
+			return result;
+		} finally {
+			WriteStatus.reset();
+		}
+	}
+
+	protected Version version(String commit, Long at) {
+		if (commit == null && at != null) {
+			String resolved = service.commitAt(at);
+			if (resolved != null) {
+				return new Version(resolved, null);
+			}
+		}
+		return new Version(commit, at);
+	}
+
+	protected <R> R admit(String operation, Supplier<R> call) {
+		return admission.admit(service.group(), operation, call);
+	}
+
+	protected <R> R versioned(String operation, String commit, Long at, Function<Version, R> call) {
+		return consistent(commit, at, () -> admit(operation, () -> call.apply(version(commit, at))));
+	}
+
+	protected <R> R consistent(String commit, Long at, Supplier<R> call) {
+		String minCommit = RestHeaders.get(RestHeaders.MIN_COMMIT);
+		if (minCommit == null || commit != null || at != null) {
+			return call.get();
+		}
+		return consistency.await(minCommit, call);
+	}
+
 	// +------------- ENTITY METHODS ------------------+
 
 	@SneakyThrows
 	public void save(RestSaveEvent<P> event) {
-		event.setResult(service.save(toInstance(objectMapper.read(event.getContent(), typeAlias))));
+		event.setResult(written(() -> admit("save",
+				() -> service.save(toInstance(objectMapper.read(event.getContent(), typeAlias))))));
 	}
 
 	protected abstract P toInstance(Q alias);
 
 	@SneakyThrows
 	public void read(RestReadEvent<P> event) {
-		event.setResult(service.read(KeyParams.of(event.getName()), event.getCommit(), event.getAt()));
+		event.setResult(versioned("read", event.getCommit(), event.getAt(), version -> service
+				.read(KeyParams.of(event.getName()), version.getCommit(), version.getAt())));
 	}
 
 	@SneakyThrows
@@ -74,55 +138,85 @@ public abstract class AbstractFileRestHandler<P, Q> extends AbstractRestHandler<
 			throw new FileStorageException(
 					"Content name '" + keys + "' does not match the received path '" + name + "'.", null);
 		}
-		event.setResult(service.update(candidate));
+		event.setResult(written(() -> admit("update", () -> service.update(candidate))));
+	}
+
+	@SneakyThrows
+	public void patch(RestPatchEvent<P> event) {
+		event.setResult(
+				written(() -> admit("patch", () -> service.patch(KeyParams.of(event.getName()), event.getContent()))));
 	}
 
 	@SneakyThrows
 	public void delete(RestDeleteEvent<P> event) {
-		event.setResult(service.delete(KeyParams.of(event.getName())));
+		event.setResult(written(() -> admit("delete", () -> service.delete(KeyParams.of(event.getName())))));
 	}
 
 	@SneakyThrows
 	public void count(RestCountEvent<WrapperVO<Long>> event) {
-		event.setResult(service.count(event.getFilter(), event.getPaging(), event.getCommit(), event.getAt()));
+		event.setResult(versioned("count", event.getCommit(), event.getAt(), version -> service.count(event.getFilter(),
+				event.getPaging(), version.getCommit(), version.getAt())));
 	}
 
 	@SneakyThrows
 	public void list(RestListEvent<List<P>> event) {
-		event.setResult(service.list(event.getFilter(), event.getPaging(), event.getSorting(), event.getCommit(),
-				event.getAt()));
+		event.setResult(versioned("list", event.getCommit(), event.getAt(), version -> service.list(event.getFilter(),
+				event.getPaging(), event.getSorting(), version.getCommit(), version.getAt())));
+	}
+
+	@SneakyThrows
+	public void aggregate(RestAggregateEvent<Map<String, AggregationVO>> event) {
+		event.setResult(versioned("aggregate", event.getCommit(), event.getAt(), version -> service
+				.aggregate(KeyParams.of(event.getProperties()), event.getFilter(), event.getPaging(),
+				version.getCommit(), version.getAt())));
+	}
+
+	@SneakyThrows
+	public void changes(RestChangesEvent<ChangesVO<P>> event) {
+		event.setResult(consistent(null, null, () -> admit("changes",
+				() -> service.changes(event.getFrom(), event.getTo(), event.getFilter(), event.isDiff()))));
 	}
 
 	// +------------- PROPERTY METHODS ------------------+
 
 	@SneakyThrows
 	public void setProperty(RestSetPropertyEvent<P> event) {
-		event.setResult(
-				service.setProperty(KeyParams.of(event.getName()), event.getProperty(), event.getDataAsString()));
+		event.setResult(written(() -> admit("setProperty", () -> service.setProperty(KeyParams.of(event.getName()),
+				event.getProperty(), event.getDataAsString()))));
 	}
 
 	@SneakyThrows
 	public void setProperty(RestSetPropertiesEvent<List<P>> event) {
-		event.setResult(service.setProperty(event.getProperty(), event.getDataAsString(), event.getFilter(),
-				event.getPaging(), event.getSorting()));
+		event.setResult(written(() -> admit("setProperty", () -> service.setProperty(event.getProperty(),
+				event.getDataAsString(), event.getFilter(), event.getPaging(), event.getSorting()))));
+	}
+
+	@SneakyThrows
+	public void setProperty(RestSetPropertiesBulkEvent<BulkResultVO<P>> event) {
+		event.setResult(written(() -> admit("setProperty", () -> service.setProperty(event.getProperty(),
+				event.getDataAsString(), event.getFilter(), event.getPaging(), event.getSorting(), event.isDryRun(),
+				event.isFull()))));
 	}
 
 	@SneakyThrows
 	public void getProperty(RestGetPropertyEvent<WrapperVO<Object>> event) {
-		event.setResult(service.getProperty(KeyParams.of(event.getName()), event.getProperty(), event.getCommit(),
-				event.getAt()));
+		event.setResult(versioned("getProperty", event.getCommit(), event.getAt(), version -> service
+				.getProperty(KeyParams.of(event.getName()), event.getProperty(), version.getCommit(),
+				version.getAt())));
 	}
 
 	@SneakyThrows
 	public void properties(RestPropertiesEvent<Map<String, Object>> event) {
-		event.setResult(service.properties(KeyParams.of(event.getName()), KeyParams.of(event.getProperties()),
-				event.getCommit(), event.getAt()));
+		event.setResult(versioned("properties", event.getCommit(), event.getAt(), version -> service
+				.properties(KeyParams.of(event.getName()), KeyParams.of(event.getProperties()), version.getCommit(),
+				version.getAt())));
 	}
 
 	@SneakyThrows
 	public void properties(RestListPropertiesEvent<Map<String, Map<String, Object>>> event) {
-		event.setResult(service.properties(KeyParams.of(event.getProperties()), event.getFilter(), event.getPaging(),
-				event.getSorting(), event.getCommit(), event.getAt()));
+		event.setResult(versioned("properties", event.getCommit(), event.getAt(), version -> service
+				.properties(KeyParams.of(event.getProperties()), event.getFilter(), event.getPaging(),
+				event.getSorting(), version.getCommit(), version.getAt())));
 	}
 
 	// +------------- RESOURCE METHODS ------------------+
@@ -130,37 +224,42 @@ public abstract class AbstractFileRestHandler<P, Q> extends AbstractRestHandler<
 	@SneakyThrows
 	public void setResource(RestSetResourceEvent<P> event) {
 		Resource resource = objectMapper.map(event.getResource(), Resource.class);
-		event.setResult(service.setResource(KeyParams.of(event.getName()), resource));
+		event.setResult(written(
+				() -> admit("setResource", () -> service.setResource(KeyParams.of(event.getName()), resource))));
 	}
 
 	@SneakyThrows
 	public void getResource(RestGetResourceEvent<ResourceVO> event) {
-		Resource resource = service.getResource(KeyParams.of(event.getName()), event.getPath(), event.getCommit(),
-				event.getAt());
+		Resource resource = versioned("getResource", event.getCommit(), event.getAt(), version -> service
+				.getResource(KeyParams.of(event.getName()), event.getPath(), version.getCommit(), version.getAt()));
 		event.setResult(objectMapper.map(resource, ResourceVO.class));
 	}
 
 	@SneakyThrows
 	public void updateResource(RestUpdateResourceEvent<P> event) {
 		Resource resource = objectMapper.map(event.getResource(), Resource.class);
-		event.setResult(service.updateResource(KeyParams.of(event.getName()), resource));
+		event.setResult(written(
+				() -> admit("updateResource", () -> service.updateResource(KeyParams.of(event.getName()), resource))));
 	}
 
 	@SneakyThrows
 	public void deleteResource(RestDeleteResourceEvent<P> event) {
-		event.setResult(service.deleteResource(KeyParams.of(event.getName()), event.getPath()));
+		event.setResult(written(() -> admit("deleteResource",
+				() -> service.deleteResource(KeyParams.of(event.getName()), event.getPath()))));
 	}
 
 	@SneakyThrows
 	public void countResources(RestCountResourcesEvent<WrapperVO<Long>> event) {
-		event.setResult(service.countResources(KeyParams.of(event.getName()), event.getFilter(), event.getPaging(),
-				event.getCommit(), event.getAt()));
+		event.setResult(versioned("countResources", event.getCommit(), event.getAt(), version -> service
+				.countResources(KeyParams.of(event.getName()), event.getFilter(), event.getPaging(),
+				version.getCommit(), version.getAt())));
 	}
 
 	@SneakyThrows
 	public void listResources(RestListResourcesEvent<List<ResourceVO>> event) {
-		List<Resource> resources = service.listResources(KeyParams.of(event.getName()), event.getFilter(),
-				event.getPaging(), event.getSorting(), event.getCommit(), event.getAt());
+		List<Resource> resources = versioned("listResources", event.getCommit(), event.getAt(), version -> service
+				.listResources(KeyParams.of(event.getName()), event.getFilter(), event.getPaging(), event.getSorting(),
+				version.getCommit(), version.getAt()));
 		event.setResult(objectMapper.mapList(resources, ResourceVO.class));
 	}
 
@@ -168,16 +267,39 @@ public abstract class AbstractFileRestHandler<P, Q> extends AbstractRestHandler<
 
 	@SneakyThrows
 	public void history(RestHistoryEvent<List<HistoryVO>> event) {
-		event.setResult(service.history(KeyParams.of(new Object[0]), event.getPaging()));
+		event.setResult(consistent(null, null,
+				() -> admit("history", () -> service.history(KeyParams.of(new Object[0]), event.getPaging()))));
 	}
 
 	@SneakyThrows
 	public void historyName(RestHistoryNameEvent<List<HistoryVO>> event) {
-		event.setResult(service.history(KeyParams.of(event.getName()), event.getPaging()));
+		event.setResult(consistent(null, null,
+				() -> admit("historyName", () -> service.history(KeyParams.of(event.getName()), event.getPaging()))));
 	}
 
 	@SneakyThrows
 	public void historyResources(RestHistoryResourceEvent<List<HistoryVO>> event) {
-		event.setResult(service.historyResources(KeyParams.of(event.getName()), event.getPath(), event.getPaging()));
+		event.setResult(consistent(null, null, () -> admit("historyResources",
+				() -> service.historyResources(KeyParams.of(event.getName()), event.getPath(), event.getPaging()))));
+	}
+
+	// +------------- TRANSFER METHODS ------------------+
+
+	@SneakyThrows
+	public void exportGroup(RestExportEvent<TransferVO> event) {
+		event.setResult(versioned("exportGroup", event.getCommit(), event.getAt(), version -> service
+				.exportGroup(event.getOutput(), event.getFilter(), version.getCommit(), version.getAt())));
+	}
+
+	@SneakyThrows
+	public void importGroup(RestImportEvent<TransferVO> event) {
+		event.setResult(written(() -> admit("importGroup", () -> service.importGroup(event.getInput()))));
+	}
+
+	@Getter
+	@AllArgsConstructor
+	protected static class Version {
+		private final String commit;
+		private final Long at;
 	}
 }
\ No newline at end of file
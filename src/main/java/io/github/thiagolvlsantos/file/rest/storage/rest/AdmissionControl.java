@@ -0,0 +1,168 @@
+package io.github.thiagolvlsantos.file.rest.storage.rest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import io.github.thiagolvlsantos.file.rest.storage.exceptions.AdmissionRejectedException;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "file.rest.storage.admission")
+public class AdmissionControl {
+
+	private boolean enabled;
+	private Limit defaults = new Limit();
+	private Map<String, Limit> limits = new HashMap<>();
+
+	private final Map<String, Bulkhead> groups = new ConcurrentHashMap<>();
+	private final Map<String, Map<String, Bulkhead>> bulkheads = new ConcurrentHashMap<>();
+
+	public <R> R admit(String group, String operation, Supplier<R> call) {
+		if (!enabled) {
+			return call.get();
+		}
+		Bulkhead bulkhead = bulkhead(group, operation);
+		Bulkhead shared = group(group);
+		// operation first, so calls queued on a busy operation do not hold group permits
+		bulkhead.acquire();
+		try {
+			shared.acquire();
+			try {
+				return call.get();
+			} finally {
+				shared.release();
+			}
+		} finally {
+			bulkhead.release();
+		}
+	}
+
+	private Bulkhead group(String group) {
+		Bulkhead bulkhead = groups.get(group);
+		if (bulkhead == null) {
+			bulkhead = groups.computeIfAbsent(group, k -> new Bulkhead(k, limit(group)));
+		}
+		return bulkhead;
+	}
+
+	private Bulkhead bulkhead(String group, String operation) {
+		Map<String, Bulkhead> operations = bulkheads.get(group);
+		if (operations == null) {
+			operations = bulkheads.computeIfAbsent(group, k -> new ConcurrentHashMap<>());
+		}
+		Bulkhead bulkhead = operations.get(operation);
+		if (bulkhead == null) {
+			bulkhead = operations.computeIfAbsent(operation,
+					k -> new Bulkhead(group + "." + k, limit(group, operation)));
+		}
+		return bulkhead;
+	}
+
+	protected Limit limit(String group) {
+		Limit limit = limits.get(group);
+		return limit != null ? limit : defaults;
+	}
+
+	protected Limit limit(String group, String operation) {
+		Limit limit = limits.get(group + "." + operation);
+		return limit != null ? limit : defaults;
+	}
+
+	public Map<String, Stats> stats() {
+		Map<String, Stats> result = new HashMap<>();
+		groups.values().forEach(b -> result.put(b.key, b.stats()));
+		bulkheads.values().forEach(m -> m.values().forEach(b -> result.put(b.key, b.stats())));
+		return result;
+	}
+
+	@Getter
+	@Setter
+	public static class Limit {
+		private int permits = 16;
+		private int queue = 32;
+		private long timeout = 1000;
+	}
+
+	@Getter
+	public static class Stats {
+		private final int active;
+		private final int queued;
+		private final long admitted;
+		private final long rejected;
+
+		Stats(int active, int queued, long admitted, long rejected) {
+			this.active = active;
+			this.queued = queued;
+			this.admitted = admitted;
+			this.rejected = rejected;
+		}
+	}
+
+	static class Bulkhead {
+		private final String key;
+		private final Limit limit;
+		private final Semaphore permits;
+		private final AtomicInteger queued = new AtomicInteger();
+		private final AtomicLong admitted = new AtomicLong();
+		private final AtomicLong rejected = new AtomicLong();
+
+		Bulkhead(String key, Limit limit) {
+			this.key = key;
+			this.limit = limit;
+			this.permits = new Semaphore(limit.getPermits(), true);
+		}
+
+		void acquire() {
+			if (tryAcquire(0)) {
+				admitted.incrementAndGet();
+				return;
+			}
+			if (queued.incrementAndGet() > limit.getQueue()) {
+				queued.decrementAndGet();
+				rejected.incrementAndGet();
+				throw new AdmissionRejectedException("Too many requests for '" + key + "'.", key, true);
+			}
+			try {
+				if (!tryAcquire(limit.getTimeout())) {
+					rejected.incrementAndGet();
+					throw new AdmissionRejectedException("Timeout waiting for '" + key + "'.", key, false);
+				}
+				admitted.incrementAndGet();
+			} finally {
+				queued.decrementAndGet();
+			}
+		}
+
+		private boolean tryAcquire(long timeout) {
+			try {
+				// timed form honors the fair ordering, so new arrivals never overtake queued waiters
+				return permits.tryAcquire(timeout, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				rejected.incrementAndGet();
+				throw new AdmissionRejectedException("Interrupted waiting for '" + key + "'.", key, false);
+			}
+		}
+
+		void release() {
+			permits.release();
+		}
+
+		Stats stats() {
+			return new Stats(limit.getPermits() - permits.availablePermits(), queued.get(), admitted.get(),
+					rejected.get());
+		}
+	}
+}
@@ -0,0 +1,156 @@
+package io.github.thiagolvlsantos.file.rest.storage.rest;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.github.thiagolvlsantos.file.rest.storage.rest.aggregation.AggregationVO;
+import io.github.thiagolvlsantos.file.rest.storage.rest.aggregation.RestAggregateEvent;
+import io.github.thiagolvlsantos.file.rest.storage.rest.bulk.BulkResultVO;
+import io.github.thiagolvlsantos.file.rest.storage.rest.bulk.RestSetPropertiesBulkEvent;
+import io.github.thiagolvlsantos.file.rest.storage.rest.changes.ChangesVO;
+import io.github.thiagolvlsantos.file.rest.storage.rest.changes.RestChangesEvent;
+import io.github.thiagolvlsantos.file.rest.storage.rest.patch.RestPatchEvent;
+import io.github.thiagolvlsantos.file.rest.storage.rest.transfer.RestExportEvent;
+import io.github.thiagolvlsantos.file.rest.storage.rest.transfer.RestImportEvent;
+import io.github.thiagolvlsantos.file.rest.storage.rest.transfer.TransferVO;
+import io.github.thiagolvlsantos.file.storage.exceptions.FileStorageNotFoundException;
+import lombok.SneakyThrows;
+
+@RestController
+@RequestMapping("${file.rest.storage.path:/api}")
+public class FileRestController {
+
+	public static final String NDJSON = "application/x-ndjson";
+
+	private @Autowired(required = false) List<AbstractFileRestHandler<?, ?>> handlers = new LinkedList<>();
+
+	protected AbstractFileRestHandler<?, ?> handler(String entity) {
+		for (AbstractFileRestHandler<?, ?> h : handlers) {
+			if (h.getEntityName().equals(entity)) {
+				return h;
+			}
+		}
+		throw new FileStorageNotFoundException("Entity '" + entity + "' not found.", null);
+	}
+
+	@GetMapping("/{entity}/aggregate")
+	public Map<String, AggregationVO> aggregate(@PathVariable("entity") String entity,
+			@RequestParam(name = "properties") String properties,
+			@RequestParam(name = "filter", required = false) String filter,
+			@RequestParam(name = "paging", required = false) String paging,
+			@RequestParam(name = "commit", required = false) String commit,
+			@RequestParam(name = "at", required = false) Long at) {
+		RestAggregateEvent<Map<String, AggregationVO>> event = new RestAggregateEvent<>();
+		event.setEntity(entity);
+		event.setProperties(properties);
+		event.setFilter(filter);
+		event.setPaging(paging);
+		event.setCommit(commit);
+		event.setAt(at);
+		handler(entity).aggregate(event);
+		return event.getResult();
+	}
+
+	@GetMapping("/{entity}/changes")
+	public ChangesVO<?> changes(@PathVariable("entity") String entity, @RequestParam(name = "from") String from,
+			@RequestParam(name = "to", required = false) String to,
+			@RequestParam(name = "filter", required = false) String filter,
+			@RequestParam(name = "diff", defaultValue = "false") boolean diff) {
+		return changes(handler(entity), entity, from, to, filter, diff);
+	}
+
+	private <P> ChangesVO<P> changes(AbstractFileRestHandler<P, ?> handler, String entity, String from, String to,
+			String filter, boolean diff) {
+		RestChangesEvent<ChangesVO<P>> event = new RestChangesEvent<>();
+		event.setEntity(entity);
+		event.setFrom(from);
+		event.setTo(to);
+		event.setFilter(filter);
+		event.setDiff(diff);
+		handler.changes(event);
+		return event.getResult();
+	}
+
+	@PatchMapping(path = "/{entity}/{name}", consumes = { "application/json-patch+json",
+			"application/merge-patch+json", "application/json" })
+	public Object patch(@PathVariable("entity") String entity, @PathVariable("name") String name,
+			@RequestBody String content) {
+		return patch(handler(entity), entity, name, content);
+	}
+
+	private <P> P patch(AbstractFileRestHandler<P, ?> handler, String entity, String name, String content) {
+		RestPatchEvent<P> event = new RestPatchEvent<>();
+		event.setEntity(entity);
+		event.setName(name);
+		event.setContent(content);
+		handler.patch(event);
+		return event.getResult();
+	}
+
+	@PostMapping("/{entity}/bulk/properties/{property}")
+	public BulkResultVO<?> setProperties(@PathVariable("entity") String entity,
+			@PathVariable("property") String property, @RequestBody String data,
+			@RequestParam(name = "filter", required = false) String filter,
+			@RequestParam(name = "paging", required = false) String paging,
+			@RequestParam(name = "sorting", required = false) String sorting,
+			@RequestParam(name = "dryRun", defaultValue = "false") boolean dryRun,
+			@RequestParam(name = "full", defaultValue = "false") boolean full) {
+		return setProperties(handler(entity), entity, property, data, filter, paging, sorting, dryRun, full);
+	}
+
+	private <P> BulkResultVO<P> setProperties(AbstractFileRestHandler<P, ?> handler, String entity,
+			String property, String data, String filter, String paging, String sorting, boolean dryRun,
+			boolean full) {
+		RestSetPropertiesBulkEvent<BulkResultVO<P>> event = new RestSetPropertiesBulkEvent<>();
+		event.setEntity(entity);
+		event.setProperty(property);
+		event.setDataAsString(data);
+		event.setFilter(filter);
+		event.setPaging(paging);
+		event.setSorting(sorting);
+		event.setDryRun(dryRun);
+		event.setFull(full);
+		handler.setProperty(event);
+		return event.getResult();
+	}
+
+	@SneakyThrows
+	@GetMapping(path = "/{entity}/export", produces = NDJSON)
+	public void exportGroup(@PathVariable("entity") String entity,
+			@RequestParam(name = "filter", required = false) String filter,
+			@RequestParam(name = "commit", required = false) String commit,
+			@RequestParam(name = "at", required = false) Long at, HttpServletResponse response) {
+		response.setContentType(NDJSON);
+		RestExportEvent<TransferVO> event = new RestExportEvent<>();
+		event.setEntity(entity);
+		event.setFilter(filter);
+		event.setCommit(commit);
+		event.setAt(at);
+		event.setOutput(response.getOutputStream());
+		handler(entity).exportGroup(event);
+	}
+
+	@SneakyThrows
+	@PostMapping(path = "/{entity}/import", consumes = NDJSON)
+	public TransferVO importGroup(@PathVariable("entity") String entity, HttpServletRequest request) {
+		RestImportEvent<TransferVO> event = new RestImportEvent<>();
+		event.setEntity(entity);
+		event.setInput(request.getInputStream());
+		handler(entity).importGroup(event);
+		return event.getResult();
+	}
+}
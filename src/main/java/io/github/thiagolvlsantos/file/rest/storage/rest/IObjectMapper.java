@@ -1,12 +1,38 @@
 package io.github.thiagolvlsantos.file.rest.storage.rest;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.SneakyThrows;
+
 public interface IObjectMapper {
 
 	<Q> Q read(String content, Class<Q> type);
 
+	// the defaults keep existing implementations working, ObjectMapperDefault overrides them with cached codecs
+	default <Q> Q read(byte[] content, Class<Q> type) {
+		return read(new String(content, StandardCharsets.UTF_8), type);
+	}
+
+	@SneakyThrows
+	default byte[] write(Object source) {
+		return Json.MAPPER.writeValueAsBytes(source);
+	}
+
+	default <Q> Q convert(Object source, Class<Q> type) {
+		return read(write(source), type);
+	}
+
 	<P, Q> Q map(P source, Class<Q> type);
 
 	<P, Q> List<Q> mapList(Iterable<P> source, Class<Q> type);
+
+	final class Json {
+		private static final ObjectMapper MAPPER = new ObjectMapper();
+
+		private Json() {
+		}
+	}
 }
@@ -1,11 +1,15 @@
 package io.github.thiagolvlsantos.file.rest.storage.rest;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 import lombok.SneakyThrows;
 import ma.glasnost.orika.MapperFacade;
@@ -14,11 +18,38 @@ import ma.glasnost.orika.MapperFacade;
 public class ObjectMapperDefault implements IObjectMapper {
 	private @Autowired ObjectMapper mapperJson;
 	private @Autowired MapperFacade mapper;
+	private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+	private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+	protected ObjectReader reader(Class<?> type) {
+		return readers.computeIfAbsent(type, mapperJson::readerFor);
+	}
+
+	protected ObjectWriter writer(Class<?> type) {
+		return writers.computeIfAbsent(type, mapperJson::writerFor);
+	}
 
 	@Override
 	@SneakyThrows
 	public <Q> Q read(String content, Class<Q> type) {
-		return mapperJson.readValue(content, type);
+		return reader(type).readValue(content);
+	}
+
+	@Override
+	@SneakyThrows
+	public <Q> Q read(byte[] content, Class<Q> type) {
+		return reader(type).readValue(content);
+	}
+
+	@Override
+	@SneakyThrows
+	public byte[] write(Object source) {
+		return writer(source.getClass()).writeValueAsBytes(source);
+	}
+
+	@Override
+	public <Q> Q convert(Object source, Class<Q> type) {
+		return mapperJson.convertValue(source, type);
 	}
 
 	@Override
@@ -0,0 +1,35 @@
+package io.github.thiagolvlsantos.file.rest.storage.rest;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+public final class RestHeaders {
+
+	public static final String UNCHANGED = "X-Unchanged";
+	public static final String COMMIT = "X-Commit";
+	public static final String MIN_COMMIT = "Min-Commit";
+
+	private RestHeaders() {
+	}
+
+	public static String get(String name) {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes instanceof ServletRequestAttributes) {
+			return ((ServletRequestAttributes) attributes).getRequest().getHeader(name);
+		}
+		return null;
+	}
+
+	public static void set(String name, String value) {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes instanceof ServletRequestAttributes) {
+			HttpServletResponse response = ((ServletRequestAttributes) attributes).getResponse();
+			if (response != null) {
+				response.setHeader(name, value);
+			}
+		}
+	}
+}
@@ -0,0 +1,30 @@
+package io.github.thiagolvlsantos.file.rest.storage.rest.aggregation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AggregationVO {
+
+	private String property;
+	private long total;
+	private long missing;
+	@Builder.Default
+	private Map<String, Long> counts = new LinkedHashMap<>();
+	private Object min;
+	private Object max;
+
+	public int getDistinct() {
+		return counts.size();
+	}
+}
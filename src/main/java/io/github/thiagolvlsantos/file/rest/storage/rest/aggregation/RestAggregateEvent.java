@@ -0,0 +1,17 @@
+package io.github.thiagolvlsantos.file.rest.storage.rest.aggregation;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class RestAggregateEvent<T> {
+
+	private String entity;
+	private String properties;
+	private String filter;
+	private String paging;
+	private String commit;
+	private Long at;
+	private T result;
+}
@@ -0,0 +1,25 @@
+package io.github.thiagolvlsantos.file.rest.storage.rest.bulk;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkResultVO<T> {
+
+	private boolean dryRun;
+	private long count;
+	private long changed;
+	@Builder.Default
+	private List<String> keys = new LinkedList<>();
+	private List<T> results;
+}
@@ -0,0 +1,19 @@
+package io.github.thiagolvlsantos.file.rest.storage.rest.bulk;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class RestSetPropertiesBulkEvent<T> {
+
+	private String entity;
+	private String property;
+	private String dataAsString;
+	private String filter;
+	private String paging;
+	private String sorting;
+	private boolean dryRun;
+	private boolean full;
+	private T result;
+}
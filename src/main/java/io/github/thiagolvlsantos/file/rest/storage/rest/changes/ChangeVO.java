@@ -0,0 +1,23 @@
+package io.github.thiagolvlsantos.file.rest.storage.rest.changes;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeVO<T> {
+
+	private String keys;
+	private String path;
+	private T before;
+	private T after;
+	private JsonNode diff;
+}
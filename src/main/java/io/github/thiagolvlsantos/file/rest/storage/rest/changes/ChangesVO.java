@@ -0,0 +1,29 @@
+package io.github.thiagolvlsantos.file.rest.storage.rest.changes;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangesVO<T> {
+
+	private String from;
+	private String to;
+	@Builder.Default
+	private List<ChangeVO<T>> added = new LinkedList<>();
+	@Builder.Default
+	private List<ChangeVO<T>> modified = new LinkedList<>();
+	@Builder.Default
+	private List<ChangeVO<T>> removed = new LinkedList<>();
+	@Builder.Default
+	private List<String> others = new LinkedList<>();
+}
@@ -0,0 +1,16 @@
+package io.github.thiagolvlsantos.file.rest.storage.rest.changes;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class RestChangesEvent<T> {
+
+	private String entity;
+	private String from;
+	private String to;
+	private String filter;
+	private boolean diff;
+	private T result;
+}
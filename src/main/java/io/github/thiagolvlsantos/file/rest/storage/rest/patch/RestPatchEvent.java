@@ -0,0 +1,14 @@
+package io.github.thiagolvlsantos.file.rest.storage.rest.patch;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class RestPatchEvent<T> {
+
+	private String entity;
+	private String name;
+	private String content;
+	private T result;
+}
@@ -0,0 +1,18 @@
+package io.github.thiagolvlsantos.file.rest.storage.rest.transfer;
+
+import java.io.OutputStream;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class RestExportEvent<T> {
+
+	private String entity;
+	private String filter;
+	private String commit;
+	private Long at;
+	private OutputStream output;
+	private T result;
+}
@@ -0,0 +1,15 @@
+package io.github.thiagolvlsantos.file.rest.storage.rest.transfer;
+
+import java.io.InputStream;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class RestImportEvent<T> {
+
+	private String entity;
+	private InputStream input;
+	private T result;
+}
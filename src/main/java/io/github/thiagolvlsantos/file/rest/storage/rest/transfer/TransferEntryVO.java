@@ -0,0 +1,23 @@
+package io.github.thiagolvlsantos.file.rest.storage.rest.transfer;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import io.github.thiagolvlsantos.rest.storage.rest.resources.ResourceVO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferEntryVO {
+
+	private Object entity;
+	@Builder.Default
+	private List<ResourceVO> resources = new LinkedList<>();
+}
@@ -0,0 +1,19 @@
+package io.github.thiagolvlsantos.file.rest.storage.rest.transfer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferVO {
+
+	private long entities;
+	private long resources;
+	private long changed;
+}
@@ -1,19 +1,52 @@
 package io.github.thiagolvlsantos.file.rest.storage.service;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.util.ReflectionUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
 
 import io.github.thiagolvlsantos.file.rest.storage.rest.IObjectMapper;
+import io.github.thiagolvlsantos.file.rest.storage.rest.aggregation.AggregationVO;
+import io.github.thiagolvlsantos.file.rest.storage.rest.bulk.BulkResultVO;
+import io.github.thiagolvlsantos.file.rest.storage.rest.changes.ChangesVO;
+import io.github.thiagolvlsantos.file.rest.storage.rest.transfer.TransferEntryVO;
+import io.github.thiagolvlsantos.file.rest.storage.rest.transfer.TransferVO;
+import io.github.thiagolvlsantos.file.rest.storage.service.patch.JsonPatch;
 import io.github.thiagolvlsantos.file.storage.KeyParams;
+import io.github.thiagolvlsantos.file.storage.annotations.FileKey;
+import io.github.thiagolvlsantos.file.storage.annotations.UtilAnnotations;
 import io.github.thiagolvlsantos.file.storage.exceptions.FileStorageException;
 import io.github.thiagolvlsantos.file.storage.exceptions.FileStorageNotFoundException;
 import io.github.thiagolvlsantos.file.storage.resource.Resource;
 import io.github.thiagolvlsantos.file.storage.search.FilePaging;
 import io.github.thiagolvlsantos.file.storage.util.repository.AbstractFileRepository;
+import io.github.thiagolvlsantos.file.storage.util.repository.IPredicateConverter;
 import io.github.thiagolvlsantos.git.transactions.GitRepo;
 import io.github.thiagolvlsantos.git.transactions.GitServices;
 import io.github.thiagolvlsantos.git.transactions.exceptions.GitTransactionsException;
@@ -22,34 +55,84 @@ import io.github.thiagolvlsantos.git.transactions.read.GitRead;
 import io.github.thiagolvlsantos.git.transactions.write.GitWrite;
 import io.github.thiagolvlsantos.rest.storage.rest.WrapperVO;
 import io.github.thiagolvlsantos.rest.storage.rest.history.HistoryVO;
+import io.github.thiagolvlsantos.rest.storage.rest.resources.ResourceVO;
 
 public class AbstractFileService<T> {
 
 	private @Autowired GitServices gits;
 	private @Autowired IObjectMapper mapper;
 	private @Autowired AbstractFileRepository<T> repository;
+	private @Autowired ResourceBlobStore blobs;
+	private @Autowired ResourceIndex index;
+	private @Autowired ReadConsistency consistency;
+	private @Autowired IPredicateConverter predicates;
+	private @Autowired CommitIndex commits;
+
+	private String group;
 
 	public AbstractFileRepository<T> repository() {
 		return repository;
 	}
 
 	// +---
-	public String group() {
+	@PostConstruct
+	protected void resolveGroup() {
 		GitRepo repo = AnnotationUtils.findAnnotation(getClass(), GitRepo.class);
 		if (repo == null) {
 			throw new GitTransactionsException("Repository location not found.", null);
 		}
-		return repo.value();
+		group = repo.value();
+	}
+
+	public String group() {
+		if (group == null) {
+			resolveGroup();
+		}
+		return group;
 	}
 
 	protected File readDirectory() {
-		return gits.readDirectory(group());
+		File dir = gits.readDirectory(group());
+		consistency.check(dir);
+		return dir;
 	}
 
 	protected File writeDirectory() {
 		return gits.writeDirectory(group());
 	}
 
+	public String lastCommit() {
+		return consistency.head(writeDirectory());
+	}
+
+	public String commitAt(Long at) {
+		return at != null ? commits.resolve(group(), gits.readDirectory(group()), at) : null;
+	}
+
+	protected String keysChain(T obj) {
+		return UtilAnnotations.getKeysChain(repository().getType(), obj);
+	}
+
+	protected boolean sameContent(Object stored, Object candidate) {
+		if (stored == null || candidate == null) {
+			return stored == candidate;
+		}
+		return mapper.convert(stored, JsonNode.class).equals(mapper.convert(candidate, JsonNode.class));
+	}
+
+	protected T stored(File dir, T obj) {
+		WriteStatus.reset();
+		if (!repository().exists(dir, obj)) {
+			return null;
+		}
+		T current = repository().read(dir, KeyParams.of(keysChain(obj)));
+		if (!sameContent(current, obj)) {
+			return null;
+		}
+		WriteStatus.unchanged();
+		return current;
+	}
+
 	// +------------- ENTITY METHODS ------------------+
 
 	@GitRead
@@ -61,7 +144,14 @@ public class AbstractFileService<T> {
 	public T save(T obj) {
 		try {
 			beforeSave(obj);
-			T result = repository().write(writeDirectory(), obj);
+			File dir = writeDirectory();
+			T result = stored(dir, obj);
+			if (result == null) {
+				if (repository().exists(dir, obj)) {
+					throw new FileStorageException(repository().getType().getSimpleName() + " already exists.", null);
+				}
+				result = repository().write(dir, obj);
+			}
 			afterSaveSuccess(obj, result);
 			return result;
 		} catch (Throwable e) {
@@ -71,9 +161,7 @@ public class AbstractFileService<T> {
 	}
 
 	protected void beforeSave(T obj) {
-		if (repository().exists(writeDirectory(), obj)) {
-			throw new FileStorageException(repository().getType().getSimpleName() + " already exists.", null);
-		}
+		// default to nothing
 	}
 
 	protected void afterSaveSuccess(T obj, T result) {
@@ -113,7 +201,14 @@ public class AbstractFileService<T> {
 	public T update(T obj) {
 		try {
 			beforeUpdate(obj);
-			T result = repository().write(writeDirectory(), obj);
+			File dir = writeDirectory();
+			if (!repository().exists(dir, obj)) {
+				throw new FileStorageNotFoundException(repository().getType().getSimpleName() + " not found.", null);
+			}
+			T result = stored(dir, obj);
+			if (result == null) {
+				result = repository().write(dir, obj);
+			}
 			afterUpdateSuccess(obj, result);
 			return result;
 		} catch (Throwable e) {
@@ -123,9 +218,7 @@ public class AbstractFileService<T> {
 	}
 
 	protected void beforeUpdate(T obj) {
-		if (!repository().exists(writeDirectory(), obj)) {
-			throw new FileStorageNotFoundException(repository().getType().getSimpleName() + " not found.", null);
-		}
+		// default to nothing
 	}
 
 	protected void afterUpdateSuccess(T obj, T result) {
@@ -136,11 +229,72 @@ public class AbstractFileService<T> {
 		// default to nothing
 	}
 
+	@GitWrite
+	public T patch(KeyParams keys, String patch) {
+		try {
+			WriteStatus.reset();
+			beforePatch(keys, patch);
+			JsonNode document = patchDocument(patch);
+			File dir = writeDirectory();
+			T current = repository().read(dir, keys);
+			JsonNode before = mapper.convert(current, JsonNode.class);
+			JsonNode after = JsonPatch.apply(before, document);
+			T result = current;
+			if (!before.equals(after)) {
+				T candidate = mapper.convert(after, repository().getType());
+				String name = UtilAnnotations.getKeysChain(repository().getType(), current);
+				String keysAfter = UtilAnnotations.getKeysChain(repository().getType(), candidate);
+				if (!name.equalsIgnoreCase(keysAfter)) {
+					throw new FileStorageException(
+							"Patched name '" + keysAfter + "' does not match the original '" + name + "'.", null);
+				}
+				result = repository().write(dir, candidate);
+			} else {
+				WriteStatus.unchanged();
+			}
+			afterPatchSuccess(keys, patch, result);
+			return result;
+		} catch (Throwable e) {
+			afterPatchError(keys, patch, e);
+			throw e;
+		}
+	}
+
+	// a scalar merge patch would replace the whole entity, only objects and operation arrays make sense here
+	private JsonNode patchDocument(String patch) {
+		JsonNode result;
+		try {
+			result = mapper.read(patch, JsonNode.class);
+		} catch (Exception e) {
+			throw new FileStorageException("Invalid patch document: " + e.getMessage(), e);
+		}
+		if (result == null || !(result.isObject() || result.isArray())) {
+			throw new FileStorageException("Patch must be a JSON object or an array of operations.", null);
+		}
+		return result;
+	}
+
+	protected void beforePatch(KeyParams keys, String patch) {
+		// default to nothing
+	}
+
+	protected void afterPatchSuccess(KeyParams keys, String patch, T result) {
+		// default to nothing
+	}
+
+	protected void afterPatchError(KeyParams keys, String patch, Throwable e) {
+		// default to nothing
+	}
+
 	@GitWrite
 	public T delete(KeyParams keys) {
 		try {
 			beforeDelete(keys);
-			T result = repository().delete(writeDirectory(), keys);
+			File dir = writeDirectory();
+			T result = repository().delete(dir, keys);
+			if (result != null) {
+				index.drop(dir, keysChain(result));
+			}
 			afterDeleteSuccess(keys, result);
 			return result;
 		} catch (Throwable e) {
@@ -212,6 +366,65 @@ public class AbstractFileService<T> {
 		// default to nothing
 	}
 
+	@GitRead
+	public Map<String, AggregationVO> aggregate(KeyParams names, String filter, String paging,
+			@GitCommit String commit, @GitCommit Long at) {
+		try {
+			beforeAggregate(names, filter, paging, commit, at);
+			AggregationCollector collector = new AggregationCollector();
+			repository().properties(readDirectory(), names, filter, paging, null).values().forEach(collector::accept);
+			Map<String, AggregationVO> result = collector.result();
+			afterAggregateSuccess(names, filter, paging, commit, at, result);
+			return result;
+		} catch (Throwable e) {
+			afterAggregateError(names, filter, paging, commit, at, e);
+			throw e;
+		}
+	}
+
+	protected void beforeAggregate(KeyParams names, String filter, String paging, String commit, Long at) {
+		// default to nothing
+	}
+
+	protected void afterAggregateSuccess(KeyParams names, String filter, String paging, String commit, Long at,
+			Map<String, AggregationVO> result) {
+		// default to nothing
+	}
+
+	protected void afterAggregateError(KeyParams names, String filter, String paging, String commit, Long at,
+			Throwable e) {
+		// default to nothing
+	}
+
+	@GitRead
+	public ChangesVO<T> changes(String from, String to, String filter, boolean diff) {
+		try {
+			beforeChanges(from, to, filter, diff);
+			Predicate<Object> predicate = filter == null || filter.isEmpty() ? o -> true
+					: predicates.toPredicate(filter);
+			File dir = readDirectory();
+			ChangesVO<T> result = new EntityChanges<>(mapper, repository().getType(), this::keysChain).scan(dir,
+					repository().location(dir, KeyParams.of(new Object[0])), from, to, predicate, diff);
+			afterChangesSuccess(from, to, filter, diff, result);
+			return result;
+		} catch (Throwable e) {
+			afterChangesError(from, to, filter, diff, e);
+			throw e;
+		}
+	}
+
+	protected void beforeChanges(String from, String to, String filter, boolean diff) {
+		// default to nothing
+	}
+
+	protected void afterChangesSuccess(String from, String to, String filter, boolean diff, ChangesVO<T> result) {
+		// default to nothing
+	}
+
+	protected void afterChangesError(String from, String to, String filter, boolean diff, Throwable e) {
+		// default to nothing
+	}
+
 	// +------------- PROPERTY METHODS ------------------+
 
 	@GitWrite
@@ -222,8 +435,15 @@ public class AbstractFileService<T> {
 	@GitWrite
 	public T setProperty(KeyParams keys, String property, String data) {
 		try {
+			WriteStatus.reset();
 			beforeSetProperty(keys, property, data);
-			T result = repository().setProperty(writeDirectory(), keys, property, data);
+			File dir = writeDirectory();
+			T result = storedProperty(dir, keys, property, data);
+			if (result == null) {
+				result = repository().setProperty(dir, keys, property, data);
+			} else {
+				WriteStatus.unchanged();
+			}
 			afterSetPropertySuccess(keys, property, data, result);
 			return result;
 		} catch (Throwable e) {
@@ -232,6 +452,14 @@ public class AbstractFileService<T> {
 		}
 	}
 
+	protected T storedProperty(File dir, KeyParams keys, String property, String data) {
+		T current = repository().read(dir, keys);
+		Object value = repository().newValue(property, data, current);
+		return sameContent(PropertyAccessorFactory.forBeanPropertyAccess(current).getPropertyValue(property), value)
+				? current
+				: null;
+	}
+
 	protected void beforeSetProperty(KeyParams keys, String property, String data) {
 		// default to nothing
 	}
@@ -248,7 +476,21 @@ public class AbstractFileService<T> {
 	public List<T> setProperty(String property, String data, String filter, String paging, String sorting) {
 		try {
 			beforeSetProperty(property, data, filter, paging, sorting);
-			List<T> result = repository().setProperty(writeDirectory(), property, data, filter, paging, sorting);
+			List<T> result = applyProperty(property, data, filter, paging, sorting, false, true).getResults();
+			afterSetPropertySuccess(property, data, filter, paging, sorting, result);
+			return result;
+		} catch (Throwable e) {
+			afterSetPropertyError(property, data, filter, paging, sorting, e);
+			throw e;
+		}
+	}
+
+	@GitWrite
+	public BulkResultVO<T> setProperty(String property, String data, String filter, String paging, String sorting,
+			boolean dryRun, boolean full) {
+		try {
+			beforeSetProperty(property, data, filter, paging, sorting);
+			BulkResultVO<T> result = applyProperty(property, data, filter, paging, sorting, dryRun, full);
 			afterSetPropertySuccess(property, data, filter, paging, sorting, result);
 			return result;
 		} catch (Throwable e) {
@@ -257,6 +499,41 @@ public class AbstractFileService<T> {
 		}
 	}
 
+	protected BulkResultVO<T> applyProperty(String property, String data, String filter, String paging,
+			String sorting, boolean dryRun, boolean full) {
+		File dir = writeDirectory();
+		BulkResultVO<T> result = BulkResultVO.<T>builder().dryRun(dryRun).results(full ? new LinkedList<>() : null)
+				.build();
+		for (String key : keyChains(dir, filter, paging, sorting)) {
+			// one read per entity, the old value comes from it and the patched entity is written back
+			T current = repository().read(dir, KeyParams.of(key));
+			BeanWrapper bean = PropertyAccessorFactory.forBeanPropertyAccess(current);
+			Object value = repository().newValue(property, data, current);
+			if (!sameContent(bean.getPropertyValue(property), value)) {
+				result.setChanged(result.getChanged() + 1);
+				if (!dryRun) {
+					bean.setPropertyValue(property, value);
+					current = repository().write(dir, current);
+				}
+			}
+			result.getKeys().add(key);
+			result.setCount(result.getCount() + 1);
+			if (full) {
+				result.getResults().add(current);
+			}
+		}
+		return result;
+	}
+
+	// only the key fields are projected, so the listing stays small whatever the matched entities hold
+	protected Set<String> keyChains(File dir, String filter, String paging, String sorting) {
+		List<String> names = new LinkedList<>();
+		ReflectionUtils.doWithFields(repository().getType(), f -> names.add(f.getName()),
+				f -> f.isAnnotationPresent(FileKey.class));
+		return repository().properties(dir, KeyParams.of(names.toArray(new String[0])), filter, paging, sorting)
+				.keySet();
+	}
+
 	protected void beforeSetProperty(String property, String data, String filter, String paging, String sorting) {
 		// default to nothing
 	}
@@ -266,6 +543,11 @@ public class AbstractFileService<T> {
 		// default to nothing
 	}
 
+	protected void afterSetPropertySuccess(String property, String data, String filter, String paging, String sorting,
+			BulkResultVO<T> result) {
+		// default to nothing
+	}
+
 	protected void afterSetPropertyError(String property, String data, String filter, String paging, String sorting,
 			Throwable e) {
 		// default to nothing
@@ -276,7 +558,7 @@ public class AbstractFileService<T> {
 			@GitCommit Long at) {
 		try {
 			beforeGetProperty(keys, property, commit, at);
-			WrapperVO<Object> result = new WrapperVO<>(repository().getProperty(readDirectory(), keys, property));
+			WrapperVO<Object> result = new WrapperVO<>(property(readDirectory(), keys, property));
 			afterGetPropertySuccess(keys, property, commit, at, result);
 			return result;
 		} catch (Throwable e) {
@@ -285,6 +567,36 @@ public class AbstractFileService<T> {
 		}
 	}
 
+	protected Object property(File dir, KeyParams keys, String property) {
+		Map<String, Object> fields = fields(dir, keys, Collections.singletonList(property));
+		return fields != null && fields.containsKey(property) ? fields.get(property)
+				: repository().getProperty(dir, keys, property);
+	}
+
+	// streams the entity file and builds only the requested fields, null when the file cannot be located
+	protected Map<String, Object> fields(File dir, KeyParams keys, Collection<String> names) {
+		File file = entityFile(dir, keys);
+		if (file == null) {
+			return null;
+		}
+		Map<String, Object> result = new LinkedHashMap<>();
+		try (InputStream input = new BufferedInputStream(new FileInputStream(file))) {
+			EntityFields.read(input, names).forEach((k, v) -> result.put(k, mapper.convert(v, Object.class)));
+		} catch (IOException e) {
+			throw new FileStorageException("Could not read fields of '" + file + "'.", e);
+		}
+		return result;
+	}
+
+	protected File entityFile(File dir, KeyParams keys) {
+		File location = repository().location(dir, keys);
+		if (location == null || location.isFile()) {
+			return location;
+		}
+		File[] files = location.listFiles(f -> f.isFile() && f.getName().endsWith(".json"));
+		return files != null && files.length == 1 ? files[0] : null;
+	}
+
 	protected void beforeGetProperty(KeyParams keys, String property, String commit, Long at) {
 		// default to nothing
 	}
@@ -362,7 +674,18 @@ public class AbstractFileService<T> {
 	public T setResource(KeyParams keys, Resource resource) {
 		try {
 			beforeSetResource(keys, resource);
-			T result = repository().setResource(writeDirectory(), keys, resource);
+			File dir = writeDirectory();
+			Resource content = blobs.reference(resource);
+			T result = storedResource(dir, keys, content);
+			if (result == null) {
+				if (repository().existsResources(dir, keys, resource.getMetadata().getPath())) {
+					throw new IllegalArgumentException("Resource already exists.");
+				}
+				ResourceIndex.Index indexed = resourceIndex(dir, keys);
+				blobs.write(dir, resource, content);
+				result = repository().setResource(dir, keys, content);
+				indexResource(dir, keys, indexed, result, resource);
+			}
 			afterSetResourceSuccess(keys, resource, result);
 			return result;
 		} catch (Throwable e) {
@@ -371,10 +694,62 @@ public class AbstractFileService<T> {
 		}
 	}
 
-	protected void beforeSetResource(KeyParams keys, Resource resource) {
-		if (repository().existsResources(writeDirectory(), keys, resource.getMetadata().getPath())) {
-			throw new IllegalArgumentException("Resource already exists.");
+	protected T storedResource(File dir, KeyParams keys, Resource resource) {
+		WriteStatus.reset();
+		if (!sameResource(dir, keys, resource)) {
+			return null;
 		}
+		WriteStatus.unchanged();
+		return repository().read(dir, keys);
+	}
+
+	protected boolean sameResource(File dir, KeyParams keys, Resource resource) {
+		String path = resource.getMetadata().getPath();
+		if (!repository().existsResources(dir, keys, path)) {
+			return false;
+		}
+		JsonNode current = mapper.convert(repository().getResource(dir, keys, path), JsonNode.class);
+		return covers(current, mapper.convert(resource, JsonNode.class));
+	}
+
+	// unset (null) candidate fields are not compared, they keep whatever is stored
+	private static boolean covers(JsonNode current, JsonNode candidate) {
+		if (candidate == null || candidate.isNull()) {
+			return true;
+		}
+		if (!candidate.isObject()) {
+			return candidate.equals(current);
+		}
+		if (current == null || !current.isObject()) {
+			return false;
+		}
+		Iterator<Entry<String, JsonNode>> fields = candidate.fields();
+		while (fields.hasNext()) {
+			Entry<String, JsonNode> e = fields.next();
+			if (!covers(current.get(e.getKey()), e.getValue())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	protected void indexResource(File dir, KeyParams keys, ResourceIndex.Index indexed, T entity,
+			Resource resource) {
+		index.put(dir, keysChain(entity), repository().location(dir, keys), indexed,
+				() -> repository().listResources(dir, keys, null, null, null).stream()//
+						.map(r -> blobs.resolve(dir, r))//
+						.collect(Collectors.toList()),
+				resource);
+	}
+
+	protected ResourceIndex.Index resourceIndex(File dir, KeyParams keys) {
+		return index.isEnabled()
+				? index.read(dir, keysChain(repository().read(dir, keys)), repository().location(dir, keys))
+				: null;
+	}
+
+	protected void beforeSetResource(KeyParams keys, Resource resource) {
+		// default to nothing
 	}
 
 	protected void afterSetResourceSuccess(KeyParams keys, Resource resource, T result) {
@@ -389,7 +764,8 @@ public class AbstractFileService<T> {
 	public Resource getResource(KeyParams keys, String path, @GitCommit String commit, @GitCommit Long at) {
 		try {
 			beforeGetResource(keys, path, commit, at);
-			Resource result = repository().getResource(readDirectory(), keys, path);
+			File dir = readDirectory();
+			Resource result = blobs.resolve(dir, repository().getResource(dir, keys, path));
 			afterGetResourceSuccess(keys, path, commit, at, result);
 			return result;
 		} catch (Throwable e) {
@@ -414,7 +790,18 @@ public class AbstractFileService<T> {
 	public T updateResource(KeyParams keys, Resource resource) {
 		try {
 			beforeUpdateResource(keys, resource);
-			T result = repository().setResource(writeDirectory(), keys, resource);
+			File dir = writeDirectory();
+			if (!repository().existsResources(dir, keys, resource.getMetadata().getPath())) {
+				throw new IllegalArgumentException("Resource not found.");
+			}
+			Resource content = blobs.reference(resource);
+			T result = storedResource(dir, keys, content);
+			if (result == null) {
+				ResourceIndex.Index indexed = resourceIndex(dir, keys);
+				blobs.write(dir, resource, content);
+				result = repository().setResource(dir, keys, content);
+				indexResource(dir, keys, indexed, result, resource);
+			}
 			afterUpdateResourceSuccess(keys, resource, result);
 			return result;
 		} catch (Throwable e) {
@@ -424,9 +811,7 @@ public class AbstractFileService<T> {
 	}
 
 	protected void beforeUpdateResource(KeyParams keys, Resource resource) {
-		if (!repository().existsResources(writeDirectory(), keys, resource.getMetadata().getPath())) {
-			throw new IllegalArgumentException("Resource not found.");
-		}
+		// default to nothing
 	}
 
 	private void afterUpdateResourceSuccess(KeyParams keys, Resource resource, T result) {
@@ -441,7 +826,12 @@ public class AbstractFileService<T> {
 	public T deleteResource(KeyParams keys, String path) {
 		try {
 			beforeDeleteResource(keys, path);
-			T result = repository().deleteResource(writeDirectory(), keys, path);
+			File dir = writeDirectory();
+			ResourceIndex.Index indexed = resourceIndex(dir, keys);
+			T result = repository().deleteResource(dir, keys, path);
+			if (index.isEnabled()) {
+				index.remove(dir, keysChain(result), repository().location(dir, keys), indexed, path);
+			}
 			afterDeleteResourceSuccess(keys, path, result);
 			return result;
 		} catch (Throwable e) {
@@ -467,8 +857,11 @@ public class AbstractFileService<T> {
 			@GitCommit Long at) {
 		try {
 			beforeCountResources(keys, filter, paging, commit, at);
-			WrapperVO<Long> result = new WrapperVO<>(
-					repository().countResources(readDirectory(), keys, filter, paging));
+			File dir = readDirectory();
+			ResourceIndex.Index resources = resourceIndex(dir, keys);
+			WrapperVO<Long> result = new WrapperVO<>(resources != null //
+					? index.resources(resources, filter, repository().paging(paging)).count()
+					: repository().countResources(dir, keys, filter, paging));
 			afterCountResourcesSuccess(keys, filter, paging, commit, at, result);
 			return result;
 		} catch (Throwable e) {
@@ -496,7 +889,21 @@ public class AbstractFileService<T> {
 			@GitCommit String commit, @GitCommit Long at) {
 		try {
 			beforeListResources(keys, filter, paging, sorting, commit, at);
-			List<Resource> result = repository().listResources(readDirectory(), keys, filter, paging, sorting);
+			File dir = readDirectory();
+			ResourceIndex.Index resources = resourceIndex(dir, keys);
+			List<Resource> result;
+			if (!index.isEnabled()) {
+				result = repository().listResources(dir, keys, filter, paging, sorting).stream()//
+						.map(r -> blobs.resolve(dir, r))//
+						.collect(Collectors.toList());
+			} else if (resources != null && (sorting == null || sorting.isEmpty())) {
+				result = index.list(resources, filter, repository().paging(paging));
+			} else {
+				// sorted or stale, scanned but answered in the same metadata-only shape as the index
+				result = repository().listResources(dir, keys, filter, paging, sorting).stream()//
+						.map(index::metadata)//
+						.collect(Collectors.toList());
+			}
 			afterListResourcesSuccess(keys, filter, paging, sorting, commit, at, result);
 			return result;
 		} catch (Throwable e) {
@@ -583,4 +990,161 @@ public class AbstractFileService<T> {
 	protected void afterHistoryResourcesError(KeyParams keys, String path, String paging, Throwable e) {
 		// default to nothing
 	}
-}
\ No newline at end of file
+
+	// +------------- TRANSFER METHODS ------------------+
+
+	@GitRead
+	public TransferVO exportGroup(OutputStream output, String filter, @GitCommit String commit, @GitCommit Long at) {
+		try {
+			beforeExportGroup(filter, commit, at);
+			File dir = readDirectory();
+			TransferVO result = new TransferVO();
+			for (String chain : keyChains(dir, filter, null, null)) {
+				KeyParams keys = KeyParams.of(chain);
+				T entity = repository().read(dir, keys);
+				List<ResourceVO> resources = mapper.mapList(repository().listResources(dir, keys, null, null, null)
+						.stream()//
+						.map(r -> blobs.resolve(dir, r))//
+						.collect(Collectors.toList()), ResourceVO.class);
+				output.write(mapper.write(new TransferEntryVO(entity, resources)));
+				output.write('\n');
+				result.setEntities(result.getEntities() + 1);
+				result.setResources(result.getResources() + resources.size());
+			}
+			output.flush();
+			afterExportGroupSuccess(filter, commit, at, result);
+			return result;
+		} catch (IOException e) {
+			afterExportGroupError(filter, commit, at, e);
+			throw new FileStorageException("Could not write export of '" + group() + "'.", e);
+		} catch (Throwable e) {
+			afterExportGroupError(filter, commit, at, e);
+			throw e;
+		}
+	}
+
+	protected void beforeExportGroup(String filter, String commit, Long at) {
+		// default to nothing
+	}
+
+	protected void afterExportGroupSuccess(String filter, String commit, Long at, TransferVO result) {
+		// default to nothing
+	}
+
+	protected void afterExportGroupError(String filter, String commit, Long at, Throwable e) {
+		// default to nothing
+	}
+
+	@GitWrite
+	public TransferVO importGroup(InputStream input) {
+		try {
+			WriteStatus.reset();
+			beforeImportGroup();
+			File dir = writeDirectory();
+			TransferVO result = new TransferVO();
+			BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (!line.trim().isEmpty()) {
+					importEntry(dir, mapper.read(line, TransferEntryVO.class), result);
+				}
+			}
+			if (result.getChanged() == 0) {
+				WriteStatus.unchanged();
+			}
+			afterImportGroupSuccess(result);
+			return result;
+		} catch (IOException e) {
+			afterImportGroupError(e);
+			throw new FileStorageException("Could not read import of '" + group() + "'.", e);
+		} catch (Throwable e) {
+			afterImportGroupError(e);
+			throw e;
+		}
+	}
+
+	protected void importEntry(File dir, TransferEntryVO entry, TransferVO result) {
+		T entity = mapper.convert(entry.getEntity(), repository().getType());
+		KeyParams keys = KeyParams.of(keysChain(entity));
+		importEntity(dir, keys, entity, result);
+		for (ResourceVO vo : entry.getResources()) {
+			importResource(dir, keys, mapper.map(vo, Resource.class), result);
+		}
+	}
+
+	protected void importEntity(File dir, KeyParams keys, T entity, TransferVO result) {
+		boolean exists = repository().exists(dir, entity);
+		try {
+			if (exists) {
+				beforeUpdate(entity);
+			} else {
+				beforeSave(entity);
+			}
+			T current = exists ? repository().read(dir, keys) : null;
+			if (current == null || !sameContent(current, entity)) {
+				current = repository().write(dir, entity);
+				result.setChanged(result.getChanged() + 1);
+			}
+			if (exists) {
+				afterUpdateSuccess(entity, current);
+			} else {
+				afterSaveSuccess(entity, current);
+			}
+		} catch (Throwable e) {
+			if (exists) {
+				afterUpdateError(entity, e);
+			} else {
+				afterSaveError(entity, e);
+			}
+			throw e;
+		}
+		result.setEntities(result.getEntities() + 1);
+	}
+
+	protected void importResource(File dir, KeyParams keys, Resource resource, TransferVO result) {
+		boolean exists = repository().existsResources(dir, keys, resource.getMetadata().getPath());
+		try {
+			if (exists) {
+				beforeUpdateResource(keys, resource);
+			} else {
+				beforeSetResource(keys, resource);
+			}
+			Resource content = blobs.reference(resource);
+			T current;
+			if (!exists || !sameResource(dir, keys, content)) {
+				ResourceIndex.Index indexed = resourceIndex(dir, keys);
+				blobs.write(dir, resource, content);
+				current = repository().setResource(dir, keys, content);
+				indexResource(dir, keys, indexed, current, resource);
+				result.setChanged(result.getChanged() + 1);
+			} else {
+				current = repository().read(dir, keys);
+			}
+			if (exists) {
+				afterUpdateResourceSuccess(keys, resource, current);
+			} else {
+				afterSetResourceSuccess(keys, resource, current);
+			}
+		} catch (Throwable e) {
+			if (exists) {
+				afterUpdateResourceError(keys, resource, e);
+			} else {
+				afterSetResourceError(keys, resource, e);
+			}
+			throw e;
+		}
+		result.setResources(result.getResources() + 1);
+	}
+
+	protected void beforeImportGroup() {
+		// default to nothing
+	}
+
+	protected void afterImportGroupSuccess(TransferVO result) {
+		// default to nothing
+	}
+
+	protected void afterImportGroupError(Throwable e) {
+		// default to nothing
+	}
+}
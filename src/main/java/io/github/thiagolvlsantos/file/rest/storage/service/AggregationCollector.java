@@ -0,0 +1,76 @@
+package io.github.thiagolvlsantos.file.rest.storage.service;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.stream.Collectors;
+
+import io.github.thiagolvlsantos.file.rest.storage.rest.aggregation.AggregationVO;
+
+class AggregationCollector {
+
+	private final Map<String, AggregationVO> aggregations = new LinkedHashMap<>();
+	private long total;
+
+	void accept(Map<String, Object> values) {
+		total++;
+		if (values == null) {
+			return;
+		}
+		for (Entry<String, Object> e : values.entrySet()) {
+			AggregationVO vo = aggregations.computeIfAbsent(e.getKey(),
+					k -> AggregationVO.builder().property(k).build());
+			Object value = e.getValue();
+			if (value == null) {
+				continue;
+			}
+			vo.setTotal(vo.getTotal() + 1);
+			if (value instanceof Collection) {
+				for (Object item : (Collection<?>) value) {
+					add(vo, item);
+				}
+			} else {
+				add(vo, value);
+			}
+		}
+	}
+
+	private void add(AggregationVO vo, Object value) {
+		if (value == null) {
+			return;
+		}
+		vo.getCounts().merge(String.valueOf(value), 1L, Long::sum);
+		if (!(value instanceof Comparable)) {
+			return;
+		}
+		if (vo.getMin() == null || compare(value, vo.getMin()) < 0) {
+			vo.setMin(value);
+		}
+		if (vo.getMax() == null || compare(value, vo.getMax()) > 0) {
+			vo.setMax(value);
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private int compare(Object value, Object current) {
+		if (value instanceof Number && current instanceof Number) {
+			return Double.compare(((Number) value).doubleValue(), ((Number) current).doubleValue());
+		}
+		if (current.getClass().isInstance(value)) {
+			return ((Comparable) value).compareTo(current);
+		}
+		return 0;
+	}
+
+	Map<String, AggregationVO> result() {
+		for (AggregationVO vo : aggregations.values()) {
+			vo.setMissing(total - vo.getTotal());
+			vo.setTotal(total);
+			vo.setCounts(vo.getCounts().entrySet().stream()//
+					.sorted(Entry.<String, Long>comparingByValue().reversed().thenComparing(Entry.comparingByKey()))//
+					.collect(Collectors.toMap(Entry::getKey, Entry::getValue, (a, b) -> a, LinkedHashMap::new)));
+		}
+		return aggregations;
+	}
+}
@@ -0,0 +1,142 @@
+package io.github.thiagolvlsantos.file.rest.storage.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import javax.annotation.PreDestroy;
+
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.springframework.stereotype.Component;
+
+import lombok.SneakyThrows;
+
+@Component
+public class CommitIndex {
+
+	private final Map<String, Timeline> timelines = new ConcurrentHashMap<>();
+
+	public String resolve(String group, File dir, long at) {
+		return timelines.computeIfAbsent(group, g -> new Timeline()).resolve(dir, at);
+	}
+
+	@PreDestroy
+	public void close() {
+		timelines.values().forEach(Timeline::close);
+		timelines.clear();
+	}
+
+	static class Timeline {
+		private volatile Opened opened;
+		private volatile State state = new State();
+
+		@SneakyThrows
+		String resolve(File dir, long at) {
+			Repository repository = repository(dir);
+			State current = state;
+			ObjectId head = repository.resolve(Constants.HEAD);
+			if (head != null && !head.name().equals(current.head)) {
+				current = update(repository, head);
+			}
+			if (at >= current.headTime) {
+				return null;
+			}
+			Entry<Long, String> entry = current.commits.floorEntry(at);
+			return entry != null ? entry.getValue() : null;
+		}
+
+		// a re-cloned read directory gets a new git dir, the cached repository would keep serving the old one
+		@SneakyThrows
+		private Repository repository(File dir) {
+			Opened result = opened;
+			if (result == null || !result.matches(dir)) {
+				synchronized (this) {
+					result = opened;
+					if (result == null || !result.matches(dir)) {
+						if (result != null) {
+							result.repository.close();
+						}
+						Repository repository = new FileRepositoryBuilder().findGitDir(dir).setMustExist(true).build();
+						result = new Opened(dir, repository);
+						state = new State();
+						opened = result;
+					}
+				}
+			}
+			return result.repository;
+		}
+
+		@SneakyThrows
+		private synchronized State update(Repository repository, ObjectId head) {
+			State current = state;
+			if (head.name().equals(current.head)) {
+				return current;
+			}
+			try (RevWalk walk = new RevWalk(repository)) {
+				RevCommit commit = walk.parseCommit(head);
+				long time = commit.getCommitTime() * 1000L;
+				Map<Long, String> found = new TreeMap<>();
+				while (commit != null && !commit.name().equals(current.head)) {
+					found.putIfAbsent(commit.getCommitTime() * 1000L, commit.name());
+					commit = commit.getParentCount() > 0 ? walk.parseCommit(commit.getParent(0)) : null;
+				}
+				// the indexed head is not an ancestor anymore (reset, amend, force push), start over
+				State next = commit == null ? new State() : current;
+				next.commits.putAll(found);
+				next.headTime = Math.max(next.headTime, time);
+				next.head = head.name();
+				state = next;
+				return next;
+			}
+		}
+
+		synchronized void close() {
+			if (opened != null) {
+				opened.repository.close();
+				opened = null;
+			}
+		}
+	}
+
+	static class Opened {
+		private final File dir;
+		private final Object identity;
+		private final Repository repository;
+
+		Opened(File dir, Repository repository) {
+			this.dir = dir;
+			this.identity = identity(repository.getDirectory());
+			this.repository = repository;
+		}
+
+		boolean matches(File other) {
+			return dir.equals(other) && identity != null && identity.equals(identity(repository.getDirectory()));
+		}
+
+		private static Object identity(File gitDir) {
+			try {
+				BasicFileAttributes attributes = Files.readAttributes(gitDir.toPath(), BasicFileAttributes.class);
+				return attributes.fileKey() != null ? attributes.fileKey() : attributes.creationTime();
+			} catch (IOException e) {
+				return null;
+			}
+		}
+	}
+
+	static class State {
+		private final ConcurrentSkipListMap<Long, String> commits = new ConcurrentSkipListMap<>();
+		private volatile long headTime = Long.MIN_VALUE;
+		private volatile String head;
+	}
+}
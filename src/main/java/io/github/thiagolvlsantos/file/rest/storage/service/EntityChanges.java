@@ -0,0 +1,146 @@
+package io.github.thiagolvlsantos.file.rest.storage.service;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.diff.DiffEntry.ChangeType;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.eclipse.jgit.treewalk.filter.PathFilter;
+import org.springframework.util.ReflectionUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.github.thiagolvlsantos.file.rest.storage.rest.IObjectMapper;
+import io.github.thiagolvlsantos.file.rest.storage.rest.changes.ChangeVO;
+import io.github.thiagolvlsantos.file.rest.storage.rest.changes.ChangesVO;
+import io.github.thiagolvlsantos.file.rest.storage.service.patch.JsonPatch;
+import io.github.thiagolvlsantos.file.storage.annotations.FileKey;
+import io.github.thiagolvlsantos.file.storage.exceptions.FileStorageException;
+import lombok.SneakyThrows;
+
+class EntityChanges<T> {
+
+	private final IObjectMapper mapper;
+	private final Class<T> type;
+	private final Function<T, String> keys;
+	private final List<Field> keyFields = new LinkedList<>();
+
+	EntityChanges(IObjectMapper mapper, Class<T> type, Function<T, String> keys) {
+		this.mapper = mapper;
+		this.type = type;
+		this.keys = keys;
+		ReflectionUtils.doWithFields(type, f -> {
+			ReflectionUtils.makeAccessible(f);
+			keyFields.add(f);
+		}, f -> f.isAnnotationPresent(FileKey.class));
+	}
+
+	@SneakyThrows
+	ChangesVO<T> scan(File dir, File root, String from, String to, Predicate<Object> filter, boolean diff) {
+		if (to == null || to.isEmpty()) {
+			to = Constants.HEAD;
+		}
+		try (Repository repository = new FileRepositoryBuilder().findGitDir(dir).setMustExist(true).build();
+				TreeWalk walk = new TreeWalk(repository)) {
+			walk.setRecursive(true);
+			String prefix = repository.getWorkTree().getCanonicalFile().toPath()
+					.relativize(root.getCanonicalFile().toPath()).toString().replace('\\', '/');
+			if (!prefix.isEmpty()) {
+				walk.setFilter(PathFilter.create(prefix));
+			}
+			walk.addTree(tree(repository, from));
+			walk.addTree(tree(repository, to));
+			ChangesVO<T> result = ChangesVO.<T>builder().from(from).to(to).build();
+			List<DiffEntry> entries = DiffEntry.scan(walk);
+			for (DiffEntry e : entries) {
+				JsonNode previous = e.getChangeType() == ChangeType.ADD ? null
+						: content(repository, e.getOldId().toObjectId());
+				JsonNode next = e.getChangeType() == ChangeType.DELETE ? null
+						: content(repository, e.getNewId().toObjectId());
+				T before = entity(previous);
+				T after = entity(next);
+				T reference = after != null ? after : before;
+				boolean partial = e.getChangeType() == ChangeType.MODIFY && (before == null || after == null);
+				if (reference == null || partial) {
+					result.getOthers().add(e.getChangeType() == ChangeType.DELETE ? e.getOldPath() : e.getNewPath());
+					continue;
+				}
+				if (!filter.test(reference)) {
+					continue;
+				}
+				ChangeVO<T> change = ChangeVO.<T>builder()//
+						.keys(keys.apply(reference))//
+						.path(e.getChangeType() == ChangeType.DELETE ? e.getOldPath() : e.getNewPath())//
+						.before(before)//
+						.after(after)//
+						.build();
+				switch (e.getChangeType()) {
+				case ADD:
+					result.getAdded().add(change);
+					break;
+				case DELETE:
+					result.getRemoved().add(change);
+					break;
+				default:
+					if (diff) {
+						change.setDiff(JsonPatch.diff(previous, next));
+					}
+					result.getModified().add(change);
+				}
+			}
+			return result;
+		}
+	}
+
+	@SneakyThrows
+	private ObjectId tree(Repository repository, String commit) {
+		ObjectId id = repository.resolve(commit + "^{tree}");
+		if (id == null) {
+			throw new FileStorageException("Commit '" + commit + "' not found.", null);
+		}
+		return id;
+	}
+
+	private JsonNode content(Repository repository, ObjectId blob) {
+		try {
+			JsonNode content = mapper.read(repository.open(blob).getBytes(), JsonNode.class);
+			return content != null && content.isObject() ? content : null;
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	private T entity(JsonNode content) {
+		if (content == null) {
+			return null;
+		}
+		try {
+			T candidate = mapper.convert(content, type);
+			if (candidate == null || !hasKeys(candidate)) {
+				return null;
+			}
+			String chain = keys.apply(candidate);
+			return chain == null || chain.isEmpty() ? null : candidate;
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	private boolean hasKeys(T candidate) {
+		for (Field f : keyFields) {
+			if (ReflectionUtils.getField(f, candidate) == null) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,62 @@
+package io.github.thiagolvlsantos.file.rest.storage.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+final class EntityFields {
+
+	private static final JsonFactory FACTORY = new ObjectMapper().getFactory();
+
+	private EntityFields() {
+	}
+
+	// only the requested (dotted) paths are built, everything else is skipped token by token
+	static Map<String, JsonNode> read(InputStream input, Collection<String> paths) throws IOException {
+		Map<String, JsonNode> result = new LinkedHashMap<>();
+		try (JsonParser parser = FACTORY.createParser(input)) {
+			if (parser.nextToken() == JsonToken.START_OBJECT && !paths.isEmpty()) {
+				read(parser, "", paths, result);
+			}
+		}
+		return result;
+	}
+
+	private static boolean read(JsonParser parser, String prefix, Collection<String> paths,
+			Map<String, JsonNode> result) throws IOException {
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String path = prefix + parser.getCurrentName();
+			JsonToken token = parser.nextToken();
+			if (paths.contains(path)) {
+				result.put(path, parser.readValueAsTree());
+				if (result.size() == paths.size()) {
+					return true;
+				}
+			} else if (token == JsonToken.START_OBJECT && below(path, paths)) {
+				if (read(parser, path + ".", paths, result)) {
+					return true;
+				}
+			} else {
+				parser.skipChildren();
+			}
+		}
+		return false;
+	}
+
+	private static boolean below(String path, Collection<String> paths) {
+		for (String p : paths) {
+			if (p.startsWith(path + ".")) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,21 @@
+package io.github.thiagolvlsantos.file.rest.storage.service;
+
+import java.security.MessageDigest;
+
+import lombok.SneakyThrows;
+
+final class Hashes {
+
+	private Hashes() {
+	}
+
+	@SneakyThrows
+	static String sha256(byte[] data) {
+		byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+		StringBuilder sb = new StringBuilder(digest.length * 2);
+		for (byte b : digest) {
+			sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,87 @@
+package io.github.thiagolvlsantos.file.rest.storage.service;
+
+import java.io.File;
+import java.util.function.Supplier;
+
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.github.thiagolvlsantos.file.rest.storage.exceptions.StaleReadException;
+import io.github.thiagolvlsantos.file.storage.exceptions.FileStorageException;
+import lombok.SneakyThrows;
+
+@Component
+public class ReadConsistency {
+
+	private static final ThreadLocal<String> REQUIRED = new ThreadLocal<>();
+
+	private @Value("${file.rest.storage.consistency.timeout:5000}") long timeout;
+	private @Value("${file.rest.storage.consistency.interval:100}") long interval;
+
+	@SneakyThrows
+	public <R> R await(String commit, Supplier<R> call) {
+		// client input, only full ids are accepted so revision expressions like HEAD~3 cannot pass
+		if (!ObjectId.isId(commit)) {
+			throw new FileStorageException("Invalid Min-Commit '" + commit + "', expected a full commit id.", null);
+		}
+		long limit = System.currentTimeMillis() + timeout;
+		REQUIRED.set(commit);
+		try {
+			while (true) {
+				try {
+					return call.get();
+				} catch (StaleReadException e) {
+					if (System.currentTimeMillis() + interval > limit) {
+						throw e;
+					}
+					Thread.sleep(interval);
+				}
+			}
+		} finally {
+			REQUIRED.remove();
+		}
+	}
+
+	void check(File dir) {
+		String commit = REQUIRED.get();
+		if (commit != null && !contains(dir, commit)) {
+			throw new StaleReadException("Commit '" + commit + "' not available yet.", commit);
+		}
+	}
+
+	@SneakyThrows
+	public String head(File dir) {
+		try (Repository repository = open(dir)) {
+			ObjectId head = repository.resolve(Constants.HEAD);
+			return head != null ? head.name() : null;
+		}
+	}
+
+	@SneakyThrows
+	public boolean contains(File dir, String commit) {
+		if (!ObjectId.isId(commit)) {
+			return false;
+		}
+		try (Repository repository = open(dir); RevWalk walk = new RevWalk(repository)) {
+			ObjectId id = ObjectId.fromString(commit);
+			ObjectId head = repository.resolve(Constants.HEAD);
+			if (id == null || head == null) {
+				return false;
+			}
+			return walk.isMergedInto(walk.parseCommit(id), walk.parseCommit(head));
+		} catch (MissingObjectException e) {
+			return false;
+		}
+	}
+
+	@SneakyThrows
+	protected Repository open(File dir) {
+		return new FileRepositoryBuilder().findGitDir(dir).setMustExist(true).build();
+	}
+}
@@ -0,0 +1,160 @@
+package io.github.thiagolvlsantos.file.rest.storage.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import io.github.thiagolvlsantos.file.rest.storage.rest.IObjectMapper;
+import io.github.thiagolvlsantos.file.storage.resource.Resource;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.SneakyThrows;
+
+@Component
+public class ResourceBlobStore {
+
+	private static final String REFERENCES = "refs";
+	private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+	private static final String GZIP = "gzip";
+	private static final String IDENTITY = "identity";
+
+	private @Autowired IObjectMapper mapper;
+
+	private @Value("${file.rest.storage.resources.blobs.enabled:false}") boolean enabled;
+	private @Value("${file.rest.storage.resources.blobs.directory:.blobs}") String directory;
+	private @Value("${file.rest.storage.resources.blobs.compress-threshold:65536}") long compressThreshold;
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public Resource reference(Resource resource) {
+		byte[] data = data(resource);
+		if (!enabled || data == null) {
+			return resource;
+		}
+		boolean compress = compressThreshold >= 0 && data.length > compressThreshold;
+		BlobReference reference = new BlobReference(Hashes.sha256(data), data.length, compress ? GZIP : IDENTITY);
+		return with(resource, mapper.write(reference));
+	}
+
+	public void write(File dir, Resource resource, Resource reference) {
+		if (reference == resource) {
+			// reference() keeps the content inline
+			return;
+		}
+		byte[] data = data(reference);
+		BlobReference blob = mapper.read(data, BlobReference.class);
+		boolean compressed = GZIP.equals(blob.getEncoding());
+		File file = blob(dir, blob.getHash(), compressed);
+		if (!file.exists()) {
+			byte[] content = data(resource);
+			write(file, compressed ? gzip(content) : content);
+		}
+		// the marker is what tells resolve() these exact bytes were written here, not uploaded
+		File marker = marker(dir, data);
+		if (!marker.exists()) {
+			write(marker, new byte[0]);
+		}
+	}
+
+	@SneakyThrows
+	public Resource resolve(File dir, Resource resource) {
+		byte[] data = data(resource);
+		if (data == null || !marker(dir, data).exists()) {
+			return resource;
+		}
+		BlobReference reference = mapper.read(data, BlobReference.class);
+		boolean compressed = GZIP.equals(reference.getEncoding());
+		byte[] content = Files.readAllBytes(blob(dir, reference.getHash(), compressed).toPath());
+		return with(resource, compressed ? gunzip(content) : content);
+	}
+
+	@SneakyThrows
+	protected File marker(File dir, byte[] reference) {
+		File root = new File(dir, directory).getCanonicalFile();
+		return new File(new File(root, REFERENCES), Hashes.sha256(reference));
+	}
+
+	@SneakyThrows
+	protected File blob(File dir, String hash, boolean compressed) {
+		if (hash == null || !HASH.matcher(hash).matches()) {
+			throw new IllegalArgumentException("Invalid blob reference '" + hash + "'.");
+		}
+		File root = new File(dir, directory).getCanonicalFile();
+		File blob = new File(new File(root, hash.substring(0, 2)), hash + (compressed ? ".gz" : "")).getCanonicalFile();
+		if (!blob.toPath().startsWith(root.toPath())) {
+			throw new IllegalArgumentException("Invalid blob reference '" + hash + "'.");
+		}
+		return blob;
+	}
+
+	private byte[] data(Resource resource) {
+		return resource.getContent() != null ? resource.getContent().getData() : null;
+	}
+
+	private Resource with(Resource resource, byte[] data) {
+		Resource copy = mapper.map(resource, Resource.class);
+		copy.getContent().setData(data);
+		return copy;
+	}
+
+	@SneakyThrows
+	private void write(File blob, byte[] content) {
+		File parent = blob.getParentFile();
+		if (!parent.exists() && !parent.mkdirs()) {
+			throw new IllegalStateException("Could not create blob directory '" + parent + "'.");
+		}
+		File tmp = File.createTempFile(blob.getName(), ".tmp", parent);
+		Files.write(tmp.toPath(), content);
+		Files.move(tmp.toPath(), blob.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	@SneakyThrows
+	private byte[] gzip(byte[] data) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2);
+		try (OutputStream gz = new GZIPOutputStream(out)) {
+			gz.write(data);
+		}
+		return out.toByteArray();
+	}
+
+	@SneakyThrows
+	private byte[] gunzip(byte[] data) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 2);
+		try (InputStream gz = new GZIPInputStream(new ByteArrayInputStream(data))) {
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = gz.read(buffer)) > 0) {
+				out.write(buffer, 0, read);
+			}
+		}
+		return out.toByteArray();
+	}
+
+	@Getter
+	@Setter
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class BlobReference {
+		@JsonProperty("@blob")
+		private String hash;
+		private long size;
+		private String encoding;
+	}
+}
@@ -0,0 +1,182 @@
+package io.github.thiagolvlsantos.file.rest.storage.service;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.github.thiagolvlsantos.file.rest.storage.rest.IObjectMapper;
+import io.github.thiagolvlsantos.file.storage.resource.Resource;
+import io.github.thiagolvlsantos.file.storage.search.FilePaging;
+import io.github.thiagolvlsantos.file.storage.util.repository.IPredicateConverter;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.SneakyThrows;
+
+@Component
+public class ResourceIndex {
+
+	private @Autowired IObjectMapper mapper;
+	private @Autowired IPredicateConverter predicates;
+
+	private @Value("${file.rest.storage.resources.index.enabled:false}") boolean enabled;
+	private @Value("${file.rest.storage.resources.index.directory:.resources}") String directory;
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	protected File file(File dir, String keys) {
+		return new File(new File(dir, directory), Hashes.sha256(keys.getBytes(StandardCharsets.UTF_8)) + ".json");
+	}
+
+	// an index whose guard no longer matches the files was bypassed by some write, callers then scan
+	@SneakyThrows
+	public Index read(File dir, String keys, File location) {
+		File file = file(dir, keys);
+		if (!enabled || !file.exists()) {
+			return null;
+		}
+		Index index = mapper.read(Files.readAllBytes(file.toPath()), Index.class);
+		return guard(location).equals(index.getGuard()) ? index : null;
+	}
+
+	public void put(File dir, String keys, File location, Index previous, Supplier<List<Resource>> current,
+			Resource resource) {
+		if (!enabled) {
+			return;
+		}
+		Index index = previous;
+		if (index == null) {
+			index = new Index(keys, null, new TreeMap<>());
+			for (Resource r : current.get()) {
+				index.getEntries().put(r.getMetadata().getPath(), entry(r));
+			}
+		}
+		index.getEntries().put(resource.getMetadata().getPath(), entry(resource));
+		index.setGuard(guard(location));
+		write(dir, keys, index);
+	}
+
+	public void remove(File dir, String keys, File location, Index previous, String path) {
+		if (!enabled) {
+			return;
+		}
+		if (previous == null) {
+			drop(dir, keys);
+			return;
+		}
+		previous.getEntries().remove(path);
+		previous.setGuard(guard(location));
+		write(dir, keys, previous);
+	}
+
+	// resource files live in folders below the entity, its own file is left out so property writes keep the index
+	@SneakyThrows
+	protected String guard(File location) {
+		File root = location.isDirectory() ? location : location.getParentFile();
+		File[] folders = root != null ? root.listFiles(File::isDirectory) : null;
+		long files = 0;
+		long bytes = 0;
+		if (folders != null) {
+			for (File folder : folders) {
+				try (Stream<Path> paths = Files.walk(folder.toPath())) {
+					LongSummaryStatistics sizes = paths.filter(Files::isRegularFile)//
+							.mapToLong(p -> p.toFile().length())//
+							.summaryStatistics();
+					files += sizes.getCount();
+					bytes += sizes.getSum();
+				}
+			}
+		}
+		return files + ":" + bytes;
+	}
+
+	@SneakyThrows
+	public void drop(File dir, String keys) {
+		Files.deleteIfExists(file(dir, keys).toPath());
+	}
+
+	public Stream<Resource> resources(Index index, String filter, FilePaging paging) {
+		Predicate<Object> predicate = filter == null || filter.isEmpty() ? r -> true : predicates.toPredicate(filter);
+		Stream<Resource> result = index.getEntries().values().stream()//
+				.map(e -> metadata(e.getMetadata()))//
+				.filter(predicate);
+		if (paging != null && paging.getSkip() != null) {
+			result = result.skip(paging.getSkip());
+		}
+		if (paging != null && paging.getMax() != null) {
+			result = result.limit(paging.getMax());
+		}
+		return result;
+	}
+
+	public List<Resource> list(Index index, String filter, FilePaging paging) {
+		return resources(index, filter, paging).collect(Collectors.toList());
+	}
+
+	public Resource metadata(Resource resource) {
+		return metadata(resource.getMetadata());
+	}
+
+	private Resource metadata(Object metadata) {
+		return mapper.convert(Collections.singletonMap("metadata", metadata), Resource.class);
+	}
+
+	private Entry entry(Resource resource) {
+		byte[] data = resource.getContent() != null ? resource.getContent().getData() : null;
+		return new Entry(mapper.convert(resource.getMetadata(), JsonNode.class), data != null ? data.length : 0,
+				data != null ? Hashes.sha256(data) : null, System.currentTimeMillis());
+	}
+
+	@SneakyThrows
+	private void write(File dir, String keys, Index index) {
+		File file = file(dir, keys);
+		File parent = file.getParentFile();
+		if (!parent.exists() && !parent.mkdirs()) {
+			throw new IllegalStateException("Could not create index directory '" + parent + "'.");
+		}
+		File tmp = File.createTempFile(file.getName(), ".tmp", parent);
+		Files.write(tmp.toPath(), mapper.write(index));
+		Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	@Getter
+	@Setter
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Index {
+		private String keys;
+		private String guard;
+		private SortedMap<String, Entry> entries;
+	}
+
+	@Getter
+	@Setter
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Entry {
+		private JsonNode metadata;
+		private long size;
+		private String hash;
+		private long updated;
+	}
+}
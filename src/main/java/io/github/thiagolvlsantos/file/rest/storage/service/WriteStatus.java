@@ -0,0 +1,23 @@
+package io.github.thiagolvlsantos.file.rest.storage.service;
+
+public final class WriteStatus {
+
+	private static final ThreadLocal<Boolean> UNCHANGED = new ThreadLocal<>();
+
+	private WriteStatus() {
+	}
+
+	public static void reset() {
+		UNCHANGED.remove();
+	}
+
+	static void unchanged() {
+		UNCHANGED.set(Boolean.TRUE);
+	}
+
+	public static boolean consumeUnchanged() {
+		boolean result = Boolean.TRUE.equals(UNCHANGED.get());
+		UNCHANGED.remove();
+		return result;
+	}
+}
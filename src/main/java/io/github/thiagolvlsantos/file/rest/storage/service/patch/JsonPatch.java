@@ -0,0 +1,206 @@
+package io.github.thiagolvlsantos.file.rest.storage.service.patch;
+
+import java.util.Iterator;
+import java.util.Map.Entry;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.github.thiagolvlsantos.file.storage.exceptions.FileStorageException;
+
+public final class JsonPatch {
+
+	private JsonPatch() {
+	}
+
+	public static JsonNode apply(JsonNode target, JsonNode patch) {
+		if (patch != null && patch.isArray()) {
+			return patch(target.deepCopy(), (ArrayNode) patch);
+		}
+		return merge(target.deepCopy(), patch);
+	}
+
+	public static JsonNode merge(JsonNode target, JsonNode patch) {
+		if (patch == null || !patch.isObject()) {
+			return patch;
+		}
+		ObjectNode result = target != null && target.isObject() ? (ObjectNode) target
+				: ((ObjectNode) patch).objectNode();
+		Iterator<Entry<String, JsonNode>> fields = patch.fields();
+		while (fields.hasNext()) {
+			Entry<String, JsonNode> e = fields.next();
+			if (e.getValue().isNull()) {
+				result.remove(e.getKey());
+			} else {
+				result.set(e.getKey(), merge(result.get(e.getKey()), e.getValue()));
+			}
+		}
+		return result;
+	}
+
+	public static ArrayNode diff(JsonNode source, JsonNode target) {
+		ArrayNode operations = JsonNodeFactory.instance.arrayNode();
+		diff(operations, "", source, target);
+		return operations;
+	}
+
+	private static void diff(ArrayNode operations, String path, JsonNode source, JsonNode target) {
+		if (source.equals(target)) {
+			return;
+		}
+		if (!source.isObject() || !target.isObject()) {
+			operations.addObject().put("op", "replace").put("path", path).set("value", target);
+			return;
+		}
+		Iterator<String> names = source.fieldNames();
+		while (names.hasNext()) {
+			String name = names.next();
+			if (!target.has(name)) {
+				operations.addObject().put("op", "remove").put("path", path + "/" + escape(name));
+			}
+		}
+		Iterator<Entry<String, JsonNode>> fields = target.fields();
+		while (fields.hasNext()) {
+			Entry<String, JsonNode> e = fields.next();
+			String child = path + "/" + escape(e.getKey());
+			JsonNode previous = source.get(e.getKey());
+			if (previous == null) {
+				operations.addObject().put("op", "add").put("path", child).set("value", e.getValue());
+			} else {
+				diff(operations, child, previous, e.getValue());
+			}
+		}
+	}
+
+	private static String escape(String name) {
+		return name.replace("~", "~0").replace("/", "~1");
+	}
+
+	public static JsonNode patch(JsonNode target, ArrayNode operations) {
+		JsonNode result = target;
+		for (JsonNode operation : operations) {
+			String op = text(operation, "op");
+			JsonPointer path = JsonPointer.compile(text(operation, "path"));
+			switch (op) {
+			case "add":
+				result = add(result, path, value(operation));
+				break;
+			case "remove":
+				remove(result, path);
+				break;
+			case "replace":
+				result = replace(result, path, value(operation));
+				break;
+			case "move":
+				JsonPointer from = JsonPointer.compile(text(operation, "from"));
+				result = add(result, path, remove(result, from));
+				break;
+			case "copy":
+				result = add(result, path, get(result, JsonPointer.compile(text(operation, "from"))).deepCopy());
+				break;
+			case "test":
+				if (!get(result, path).equals(value(operation))) {
+					throw new FileStorageException("Patch test failed at '" + path + "'.", null);
+				}
+				break;
+			default:
+				throw new FileStorageException("Invalid patch operation '" + op + "'.", null);
+			}
+		}
+		return result;
+	}
+
+	private static String text(JsonNode operation, String name) {
+		JsonNode node = operation.get(name);
+		if (node == null || !node.isTextual()) {
+			throw new FileStorageException("Patch operation missing '" + name + "'.", null);
+		}
+		return node.asText();
+	}
+
+	private static JsonNode value(JsonNode operation) {
+		if (!operation.has("value")) {
+			throw new FileStorageException("Patch operation missing 'value'.", null);
+		}
+		return operation.get("value");
+	}
+
+	private static JsonNode get(JsonNode target, JsonPointer path) {
+		JsonNode node = target.at(path);
+		if (node.isMissingNode()) {
+			throw new FileStorageException("Patch path '" + path + "' not found.", null);
+		}
+		return node;
+	}
+
+	private static JsonNode add(JsonNode target, JsonPointer path, JsonNode value) {
+		if (path.matches()) {
+			return value;
+		}
+		JsonNode parent = get(target, path.head());
+		String last = path.last().getMatchingProperty();
+		if (parent.isObject()) {
+			((ObjectNode) parent).set(last, value);
+		} else if (parent.isArray()) {
+			ArrayNode array = (ArrayNode) parent;
+			if ("-".equals(last)) {
+				array.add(value);
+			} else {
+				array.insert(index(array, last, array.size()), value);
+			}
+		} else {
+			throw new FileStorageException("Patch path '" + path + "' is not a container.", null);
+		}
+		return target;
+	}
+
+	private static JsonNode replace(JsonNode target, JsonPointer path, JsonNode value) {
+		get(target, path);
+		if (path.matches()) {
+			return value;
+		}
+		JsonNode parent = target.at(path.head());
+		String last = path.last().getMatchingProperty();
+		if (parent.isArray()) {
+			ArrayNode array = (ArrayNode) parent;
+			array.set(index(array, last, array.size() - 1), value);
+		} else {
+			((ObjectNode) parent).set(last, value);
+		}
+		return target;
+	}
+
+	private static JsonNode remove(JsonNode target, JsonPointer path) {
+		if (path.matches()) {
+			throw new FileStorageException("Patch cannot remove the whole document.", null);
+		}
+		JsonNode parent = get(target, path.head());
+		String last = path.last().getMatchingProperty();
+		JsonNode removed = null;
+		if (parent.isObject()) {
+			removed = ((ObjectNode) parent).remove(last);
+		} else if (parent.isArray()) {
+			ArrayNode array = (ArrayNode) parent;
+			removed = array.remove(index(array, last, array.size() - 1));
+		}
+		if (removed == null) {
+			throw new FileStorageException("Patch path '" + path + "' not found.", null);
+		}
+		return removed;
+	}
+
+	private static int index(ArrayNode array, String token, int max) {
+		try {
+			int index = Integer.parseInt(token);
+			if (index >= 0 && index <= max) {
+				return index;
+			}
+		} catch (NumberFormatException e) {
+			// handled below
+		}
+		throw new FileStorageException("Invalid array index '" + token + "' for size " + array.size() + ".", null);
+	}
+}
@@ -0,0 +1,51 @@
+package io.github.thiagolvlsantos.file.rest.storage.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.thiagolvlsantos.file.rest.storage.exceptions.AdmissionRejectedException;
+
+class AdmissionControlTest {
+
+	private static AdmissionControl control(int groupPermits) {
+		AdmissionControl control = new AdmissionControl();
+		control.setEnabled(true);
+		AdmissionControl.Limit group = new AdmissionControl.Limit();
+		group.setPermits(groupPermits);
+		group.setQueue(0);
+		control.getLimits().put("tags", group);
+		return control;
+	}
+
+	@Test
+	void groupLimitSpansOperations() {
+		AdmissionControl control = control(1);
+		AdmissionRejectedException e = assertThrows(AdmissionRejectedException.class,
+				() -> control.admit("tags", "list", () -> control.admit("tags", "history", () -> "inner")));
+		assertEquals("tags", e.getKey());
+		assertTrue(e.isQueueFull());
+	}
+
+	@Test
+	void groupLimitLeavesOtherGroupsAlone() {
+		AdmissionControl control = control(1);
+		assertEquals("inner", control.admit("tags", "list", () -> control.admit("users", "list", () -> "inner")));
+	}
+
+	@Test
+	void permitsAreReleased() {
+		AdmissionControl control = control(1);
+		assertEquals("first", control.admit("tags", "list", () -> "first"));
+		assertEquals("second", control.admit("tags", "history", () -> "second"));
+		Map<String, AdmissionControl.Stats> stats = control.stats();
+		assertEquals(0, stats.get("tags").getActive());
+		assertEquals(2L, stats.get("tags").getAdmitted());
+		assertEquals(1L, stats.get("tags.list").getAdmitted());
+		assertEquals(1L, stats.get("tags.history").getAdmitted());
+	}
+}
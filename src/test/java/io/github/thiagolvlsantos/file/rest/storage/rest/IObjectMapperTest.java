@@ -0,0 +1,48 @@
+package io.github.thiagolvlsantos.file.rest.storage.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.SneakyThrows;
+
+class IObjectMapperTest {
+
+	// written against the original interface, before the byte and conversion methods existed
+	static class LegacyMapper implements IObjectMapper {
+		private final ObjectMapper json = new ObjectMapper();
+
+		@Override
+		@SneakyThrows
+		public <Q> Q read(String content, Class<Q> type) {
+			return json.readValue(content, type);
+		}
+
+		@Override
+		public <P, Q> Q map(P source, Class<Q> type) {
+			return json.convertValue(source, type);
+		}
+
+		@Override
+		public <P, Q> List<Q> mapList(Iterable<P> source, Class<Q> type) {
+			return Collections.emptyList();
+		}
+	}
+
+	@Test
+	void defaultsWorkForLegacyImplementations() {
+		IObjectMapper mapper = new LegacyMapper();
+		byte[] bytes = mapper.write(Collections.singletonMap("name", "a"));
+		assertEquals("{\"name\":\"a\"}", new String(bytes, StandardCharsets.UTF_8));
+		assertEquals("a", mapper.read(bytes, Map.class).get("name"));
+		assertEquals("a", mapper.convert(Collections.singletonMap("name", "a"), JsonNode.class).get("name").asText());
+	}
+}
@@ -0,0 +1,308 @@
+package io.github.thiagolvlsantos.file.rest.storage.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.thiagolvlsantos.file.rest.storage.rest.IObjectMapper;
+import io.github.thiagolvlsantos.file.rest.storage.rest.ObjectMapperDefault;
+import io.github.thiagolvlsantos.file.rest.storage.rest.bulk.BulkResultVO;
+import io.github.thiagolvlsantos.file.storage.KeyParams;
+import io.github.thiagolvlsantos.file.storage.annotations.FileKey;
+import io.github.thiagolvlsantos.file.storage.exceptions.FileStorageException;
+import io.github.thiagolvlsantos.file.storage.resource.Resource;
+import io.github.thiagolvlsantos.file.storage.resource.ResourceContent;
+import io.github.thiagolvlsantos.file.storage.resource.ResourceMetadata;
+import io.github.thiagolvlsantos.file.storage.util.repository.AbstractFileRepository;
+import io.github.thiagolvlsantos.git.transactions.GitServices;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.SneakyThrows;
+import ma.glasnost.orika.impl.DefaultMapperFactory;
+
+class AbstractFileServiceTest {
+
+	@TempDir
+	File dir;
+
+	@Getter
+	@Setter
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Thing {
+		@FileKey
+		private String name;
+		private String description;
+	}
+
+	// holds a single entity, enough to exercise the no-op paths
+	static class ThingRepository extends AbstractFileRepository<Thing> {
+		Thing stored;
+		Map<String, Resource> resources = new LinkedHashMap<>();
+		File location;
+		int reads;
+		int writes;
+
+		ThingRepository() {
+			super(Thing.class);
+		}
+
+		@Override
+		public boolean exists(File dir, Thing obj) {
+			return stored != null && stored.getName().equals(obj.getName());
+		}
+
+		@Override
+		public Thing read(File dir, KeyParams keys) {
+			reads++;
+			return new Thing(stored.getName(), stored.getDescription());
+		}
+
+		@Override
+		public Thing write(File dir, Thing obj) {
+			writes++;
+			stored = new Thing(obj.getName(), obj.getDescription());
+			return obj;
+		}
+
+		@Override
+		public Map<String, Map<String, Object>> properties(File dir, KeyParams names, String filter, String paging,
+				String sorting) {
+			return Collections.singletonMap(stored.getName(), Collections.singletonMap("name", stored.getName()));
+		}
+
+		@Override
+		public File location(File dir, KeyParams keys) {
+			return location;
+		}
+
+		@Override
+		public Object newValue(String property, String data, Object reference) {
+			return data;
+		}
+
+		@Override
+		public Object getProperty(File dir, KeyParams keys, String property) {
+			return stored.getDescription();
+		}
+
+		@Override
+		public Thing setProperty(File dir, KeyParams keys, String property, String data) {
+			writes++;
+			stored.setDescription(data);
+			return read(dir, keys);
+		}
+
+		@Override
+		public boolean existsResources(File dir, KeyParams keys, String path) {
+			return resources.containsKey(path);
+		}
+
+		@Override
+		public Resource getResource(File dir, KeyParams keys, String path) {
+			return resources.get(path);
+		}
+
+		@Override
+		public Thing setResource(File dir, KeyParams keys, Resource resource) {
+			writes++;
+			resources.put(resource.getMetadata().getPath(), resource);
+			return read(dir, keys);
+		}
+
+		@Override
+		public List<Resource> listResources(File dir, KeyParams keys, String filter, String paging, String sorting) {
+			return new ArrayList<>(resources.values());
+		}
+	}
+
+	static class ThingService extends AbstractFileService<Thing> {
+		int beforeSave;
+
+		@Override
+		protected void beforeSave(Thing obj) {
+			beforeSave++;
+		}
+	}
+
+	@SneakyThrows
+	private static void set(Object target, Class<?> type, String name, Object value) {
+		Field field = type.getDeclaredField(name);
+		field.setAccessible(true);
+		field.set(target, value);
+	}
+
+	private final ThingRepository repository = new ThingRepository();
+	private final ThingService service = service();
+
+	private ThingService service() {
+		IObjectMapper mapper = new ObjectMapperDefault();
+		set(mapper, ObjectMapperDefault.class, "mapperJson", new ObjectMapper());
+		set(mapper, ObjectMapperDefault.class, "mapper", new DefaultMapperFactory.Builder().build().getMapperFacade());
+		ResourceBlobStore blobs = new ResourceBlobStore();
+		set(blobs, ResourceBlobStore.class, "mapper", mapper);
+		ThingService result = new ThingService();
+		set(result, AbstractFileService.class, "gits", new GitServices() {
+			@Override
+			public File readDirectory(String group) {
+				return dir;
+			}
+
+			@Override
+			public File writeDirectory(String group) {
+				return dir;
+			}
+		});
+		set(result, AbstractFileService.class, "mapper", mapper);
+		set(result, AbstractFileService.class, "repository", repository);
+		set(result, AbstractFileService.class, "blobs", blobs);
+		set(result, AbstractFileService.class, "index", new ResourceIndex());
+		set(result, AbstractFileService.class, "consistency", new ReadConsistency());
+		set(result, AbstractFileService.class, "group", "things");
+		return result;
+	}
+
+	private static Resource resource(String data) {
+		ResourceMetadata metadata = new ResourceMetadata();
+		metadata.setPath("docs/readme.txt");
+		metadata.setContentType("text/plain");
+		ResourceContent content = new ResourceContent();
+		content.setData(data.getBytes(StandardCharsets.UTF_8));
+		Resource resource = new Resource();
+		resource.setMetadata(metadata);
+		resource.setContent(content);
+		return resource;
+	}
+
+	@AfterEach
+	void afterEach() {
+		WriteStatus.reset();
+	}
+
+	@Test
+	void saveSameContentIsUnchanged() {
+		service.save(new Thing("a", "first"));
+		assertFalse(WriteStatus.consumeUnchanged());
+		service.save(new Thing("a", "first"));
+		assertTrue(WriteStatus.consumeUnchanged());
+		assertEquals(1, repository.writes);
+		assertEquals(2, service.beforeSave);
+	}
+
+	@Test
+	void saveOtherContentStillExists() {
+		service.save(new Thing("a", "first"));
+		assertThrows(FileStorageException.class, () -> service.save(new Thing("a", "second")));
+		assertEquals(1, repository.writes);
+		assertEquals(2, service.beforeSave);
+	}
+
+	@Test
+	void updateSameContentIsUnchanged() {
+		service.save(new Thing("a", "first"));
+		service.update(new Thing("a", "first"));
+		assertTrue(WriteStatus.consumeUnchanged());
+		service.update(new Thing("a", "second"));
+		assertFalse(WriteStatus.consumeUnchanged());
+		assertEquals(2, repository.writes);
+	}
+
+	@Test
+	void setPropertySameValueIsUnchanged() {
+		service.save(new Thing("a", "first"));
+		service.setProperty(KeyParams.of("a"), "description", "first");
+		assertTrue(WriteStatus.consumeUnchanged());
+		service.setProperty(KeyParams.of("a"), "description", "second");
+		assertFalse(WriteStatus.consumeUnchanged());
+		assertEquals(2, repository.writes);
+	}
+
+	@Test
+	void patchRejectsScalarDocuments() {
+		service.save(new Thing("a", "first"));
+		for (String patch : new String[] { "null", "\"x\"", "5", "{" }) {
+			assertThrows(FileStorageException.class, () -> service.patch(KeyParams.of("a"), patch));
+		}
+		assertEquals(1, repository.writes);
+		assertEquals("second", service.patch(KeyParams.of("a"), "{\"description\":\"second\"}").getDescription());
+		assertEquals(2, repository.writes);
+	}
+
+	@Test
+	void bulkSetPropertyReadsEachEntityOnce() {
+		service.save(new Thing("a", "first"));
+		repository.reads = 0;
+		BulkResultVO<Thing> result = service.setProperty("description", "second", null, null, null, false, true);
+		assertEquals(1, result.getChanged());
+		assertEquals("second", result.getResults().get(0).getDescription());
+		assertEquals("second", repository.stored.getDescription());
+		assertEquals(1, repository.reads);
+
+		repository.reads = 0;
+		result = service.setProperty("description", "second", null, null, null, false, false);
+		assertEquals(0, result.getChanged());
+		assertEquals(1, repository.reads);
+		assertEquals(2, repository.writes);
+	}
+
+	@Test
+	void setResourceSameContentIsUnchanged() {
+		service.save(new Thing("a", "first"));
+		service.setResource(KeyParams.of("a"), resource("content"));
+		assertFalse(WriteStatus.consumeUnchanged());
+		// the timestamp stays null, which must not count as a difference
+		service.setResource(KeyParams.of("a"), resource("content"));
+		assertTrue(WriteStatus.consumeUnchanged());
+		assertThrows(IllegalArgumentException.class,
+				() -> service.setResource(KeyParams.of("a"), resource("other")));
+		assertEquals(2, repository.writes);
+	}
+
+	@Test
+	@SneakyThrows
+	void propertyStreamsTheEntityFile() {
+		service.save(new Thing("a", "stored"));
+		repository.location = new File(dir, "things/a");
+		repository.location.mkdirs();
+		Files.write(new File(repository.location, "meta.json").toPath(),
+				"{\"name\":\"a\",\"description\":\"raw\"}".getBytes(StandardCharsets.UTF_8));
+		assertEquals("raw", service.property(dir, KeyParams.of("a"), "description"));
+		// fields missing from the file are left to the repository
+		assertEquals("stored", service.property(dir, KeyParams.of("a"), "owner"));
+	}
+
+	@Test
+	void propertyWithoutEntityFileUsesRepository() {
+		service.save(new Thing("a", "stored"));
+		assertEquals("stored", service.property(dir, KeyParams.of("a"), "description"));
+	}
+
+	@Test
+	void resetClearsStatus() {
+		WriteStatus.unchanged();
+		WriteStatus.reset();
+		assertFalse(WriteStatus.consumeUnchanged());
+		WriteStatus.unchanged();
+		assertTrue(WriteStatus.consumeUnchanged());
+		assertFalse(WriteStatus.consumeUnchanged());
+	}
+}
@@ -0,0 +1,141 @@
+package io.github.thiagolvlsantos.file.rest.storage.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.util.Date;
+import java.util.Map;
+import java.util.TimeZone;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.ResetCommand.ResetType;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.util.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import lombok.SneakyThrows;
+
+class CommitIndexTest {
+
+	private static final String GROUP = "items";
+
+	@TempDir
+	File workspace;
+
+	private final CommitIndex index = new CommitIndex();
+
+	@AfterEach
+	void afterEach() {
+		index.close();
+	}
+
+	@SneakyThrows
+	private static Git init(File dir) {
+		return Git.init().setDirectory(dir).call();
+	}
+
+	// commit times are in seconds, the index answers in milliseconds
+	@SneakyThrows
+	private static String commit(Git git, String content, long seconds) {
+		File file = new File(git.getRepository().getWorkTree(), "item.json");
+		Files.write(file.toPath(), content.getBytes());
+		git.add().addFilepattern("item.json").call();
+		PersonIdent ident = new PersonIdent("test", "test@localhost", new Date(seconds * 1000),
+				TimeZone.getTimeZone("UTC"));
+		return git.commit().setMessage("Update " + content + ".").setAuthor(ident).setCommitter(ident).call()
+				.getId().name();
+	}
+
+	@SneakyThrows
+	private Object state() {
+		Field timelines = CommitIndex.class.getDeclaredField("timelines");
+		timelines.setAccessible(true);
+		Object timeline = ((Map<?, ?>) timelines.get(index)).get(GROUP);
+		Field state = CommitIndex.Timeline.class.getDeclaredField("state");
+		state.setAccessible(true);
+		return state.get(timeline);
+	}
+
+	private String resolve(File dir, long seconds) {
+		return index.resolve(GROUP, dir, seconds * 1000);
+	}
+
+	@Test
+	void extendsFromIndexedHead() {
+		File dir = new File(workspace, "read");
+		try (Git git = init(dir)) {
+			String first = commit(git, "first", 1000);
+			String second = commit(git, "second", 2000);
+			assertEquals(first, resolve(dir, 1500));
+			Object before = state();
+
+			commit(git, "third", 3000);
+			assertEquals(second, resolve(dir, 2999));
+			assertSame(before, state());
+			assertEquals(first, resolve(dir, 1000));
+			assertNull(resolve(dir, 3000));
+		}
+	}
+
+	@Test
+	@SneakyThrows
+	void rebuildsAfterHistoryRewrite() {
+		File dir = new File(workspace, "read");
+		try (Git git = init(dir)) {
+			String first = commit(git, "first", 1000);
+			commit(git, "second", 2000);
+			assertEquals(first, resolve(dir, 1500));
+			Object before = state();
+
+			git.reset().setMode(ResetType.HARD).setRef(first).call();
+			String replaced = commit(git, "replaced", 1800);
+			commit(git, "third", 3000);
+			// the dropped commit must not be served anymore
+			assertEquals(replaced, resolve(dir, 2500));
+			assertNotSame(before, state());
+			assertEquals(first, resolve(dir, 1500));
+
+			git.reset().setMode(ResetType.HARD).setRef(first).call();
+			assertNull(resolve(dir, 1500));
+		}
+	}
+
+	@Test
+	void passesThroughAtOrAfterHead() {
+		File dir = new File(workspace, "read");
+		try (Git git = init(dir)) {
+			String first = commit(git, "first", 1000);
+			commit(git, "second", 2000);
+			assertNull(resolve(dir, 2000));
+			assertNull(resolve(dir, 5000));
+			assertEquals(first, resolve(dir, 1999));
+			// nothing existed yet
+			assertNull(resolve(dir, 999));
+		}
+	}
+
+	@Test
+	@SneakyThrows
+	void reopensReclonedDirectory() {
+		File dir = new File(workspace, "read");
+		String first;
+		try (Git git = init(dir)) {
+			first = commit(git, "first", 1000);
+			commit(git, "second", 2000);
+			assertEquals(first, resolve(dir, 1500));
+		}
+		FileUtils.delete(dir, FileUtils.RECURSIVE);
+		try (Git git = init(dir)) {
+			String other = commit(git, "other", 1200);
+			commit(git, "next", 2000);
+			assertEquals(other, resolve(dir, 1500));
+		}
+	}
+}
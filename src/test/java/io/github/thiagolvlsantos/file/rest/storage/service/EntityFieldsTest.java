@@ -0,0 +1,60 @@
+package io.github.thiagolvlsantos.file.rest.storage.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+class EntityFieldsTest {
+
+	private static final String ENTITY = "{\"name\":\"a\",\"payload\":{\"big\":[1,2,3],\"inner\":{\"x\":1}},"
+			+ "\"tags\":[\"t1\",\"t2\"],\"description\":null}";
+
+	private static Map<String, JsonNode> read(String json, String... paths) throws IOException {
+		return EntityFields.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), Arrays.asList(paths));
+	}
+
+	@Test
+	void topLevelFields() throws IOException {
+		Map<String, JsonNode> fields = read(ENTITY, "name", "tags");
+		assertEquals("a", fields.get("name").asText());
+		assertEquals(2, fields.get("tags").size());
+		assertFalse(fields.containsKey("payload"));
+	}
+
+	@Test
+	void nestedPaths() throws IOException {
+		Map<String, JsonNode> fields = read(ENTITY, "payload.inner.x", "name");
+		assertEquals(1, fields.get("payload.inner.x").asInt());
+		assertEquals("a", fields.get("name").asText());
+	}
+
+	@Test
+	void nullAndMissingFields() throws IOException {
+		Map<String, JsonNode> fields = read(ENTITY, "description", "owner");
+		assertTrue(fields.get("description").isNull());
+		assertFalse(fields.containsKey("owner"));
+	}
+
+	@Test
+	void stopsOnceAllFieldsAreFound() throws IOException {
+		// the broken tail is never reached
+		Map<String, JsonNode> fields = read("{\"name\":\"a\",\"rest\":", "name");
+		assertEquals("a", fields.get("name").asText());
+	}
+
+	@Test
+	void nonObjectsHaveNoFields() throws IOException {
+		assertTrue(read("[1,2]", "name").isEmpty());
+		assertTrue(read("", "name").isEmpty());
+	}
+}
@@ -0,0 +1,85 @@
+package io.github.thiagolvlsantos.file.rest.storage.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.io.File;
+
+import org.eclipse.jgit.api.Git;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import io.github.thiagolvlsantos.git.transactions.EnableGitTransactions;
+import io.github.thiagolvlsantos.git.transactions.GitRepo;
+import io.github.thiagolvlsantos.git.transactions.GitServices;
+import io.github.thiagolvlsantos.git.transactions.read.GitRead;
+
+@SpringBootTest(classes = ReadConsistencyGitReadTest.Config.class, properties = {
+		"file.rest.storage.consistency.timeout=5000", "file.rest.storage.consistency.interval=50" })
+class ReadConsistencyGitReadTest {
+
+	private static final String GROUP = "items";
+
+	// static so it is injected before the context resolves the properties below
+	@TempDir
+	static File workspace;
+	private static File remote;
+
+	private static synchronized File remote() {
+		if (remote == null) {
+			remote = ReadConsistencyTest.remote(workspace);
+		}
+		return remote;
+	}
+
+	@DynamicPropertySource
+	static void properties(DynamicPropertyRegistry registry) {
+		registry.add("gitt.repository.user", () -> "test");
+		registry.add("gitt.repository.password", () -> "test");
+		registry.add("gitt.repository." + GROUP + ".read", () -> new File(workspace, "read").getAbsolutePath());
+		registry.add("gitt.repository." + GROUP + ".write", () -> new File(workspace, "write").getAbsolutePath());
+		registry.add("gitt.repository." + GROUP + ".remote", () -> remote().toURI().toString());
+	}
+
+	@Configuration
+	@EnableGitTransactions
+	@EnableAspectJAutoProxy
+	@Import({ ReadConsistency.class, Reader.class })
+	static class Config {
+	}
+
+	@GitRepo(GROUP)
+	static class Reader {
+
+		private @Autowired GitServices gits;
+		private @Autowired ReadConsistency consistency;
+
+		@GitRead
+		public String head() {
+			File dir = gits.readDirectory(GROUP);
+			consistency.check(dir);
+			return consistency.head(dir);
+		}
+	}
+
+	private @Autowired Reader reader;
+	private @Autowired ReadConsistency consistency;
+
+	@Test
+	void retryReentersGitReadAndSeesCommitFromAnotherWorkingTree() {
+		String before = reader.head();
+		String commit;
+		try (Git other = ReadConsistencyTest.clone(remote(), new File(workspace, "other"))) {
+			commit = ReadConsistencyTest.commit(other, "item.json", "{\"name\":\"a\"}");
+		}
+		assertNotEquals(before, commit);
+		assertEquals(commit, consistency.await(commit, reader::head));
+	}
+}
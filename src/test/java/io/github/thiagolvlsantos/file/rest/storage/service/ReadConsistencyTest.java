@@ -0,0 +1,138 @@
+package io.github.thiagolvlsantos.file.rest.storage.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jgit.api.Git;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.thiagolvlsantos.file.rest.storage.exceptions.StaleReadException;
+import io.github.thiagolvlsantos.file.storage.exceptions.FileStorageException;
+import lombok.SneakyThrows;
+
+class ReadConsistencyTest {
+
+	@TempDir
+	File workspace;
+
+	@SneakyThrows
+	private static ReadConsistency consistency(long timeout, long interval) {
+		ReadConsistency consistency = new ReadConsistency();
+		for (String name : new String[] { "timeout", "interval" }) {
+			Field field = ReadConsistency.class.getDeclaredField(name);
+			field.setAccessible(true);
+			field.setLong(consistency, "timeout".equals(name) ? timeout : interval);
+		}
+		return consistency;
+	}
+
+	@SneakyThrows
+	static File remote(File workspace) {
+		File remote = new File(workspace, "remote.git");
+		Git.init().setBare(true).setDirectory(remote).call().close();
+		try (Git seed = clone(remote, new File(workspace, "seed"))) {
+			commit(seed, "README.md", "seed");
+		}
+		return remote;
+	}
+
+	@SneakyThrows
+	static Git clone(File remote, File dir) {
+		return Git.cloneRepository().setURI(remote.toURI().toString()).setDirectory(dir).call();
+	}
+
+	@SneakyThrows
+	static String commit(Git git, String name, String content) {
+		File file = new File(git.getRepository().getWorkTree(), name);
+		Files.write(file.toPath(), content.getBytes());
+		git.add().addFilepattern(name).call();
+		String id = git.commit().setMessage("Update " + name + ".").setAuthor("test", "test@localhost").call()
+				.getId().name();
+		git.push().call();
+		return id;
+	}
+
+	@SneakyThrows
+	private static void pull(Git git) {
+		git.pull().call();
+	}
+
+	@Test
+	@SneakyThrows
+	void waitsUntilReaderContainsCommit() {
+		File remote = remote(workspace);
+		try (Git writer = clone(remote, new File(workspace, "write"));
+				Git reader = clone(remote, new File(workspace, "read"))) {
+			ReadConsistency consistency = consistency(5000, 10);
+			File dir = reader.getRepository().getWorkTree();
+			String commit = commit(writer, "item.json", "{\"name\":\"a\"}");
+			assertFalse(consistency.contains(dir, commit));
+
+			AtomicInteger attempts = new AtomicInteger();
+			String head = consistency.await(commit, () -> {
+				if (attempts.incrementAndGet() == 3) {
+					pull(reader);
+				}
+				consistency.check(dir);
+				return consistency.head(dir);
+			});
+			assertEquals(commit, head);
+			assertEquals(3, attempts.get());
+			assertTrue(consistency.contains(dir, commit));
+		}
+	}
+
+	@Test
+	@SneakyThrows
+	void failsAfterTimeout() {
+		File remote = remote(workspace);
+		try (Git writer = clone(remote, new File(workspace, "write"));
+				Git reader = clone(remote, new File(workspace, "read"))) {
+			ReadConsistency consistency = consistency(100, 20);
+			File dir = reader.getRepository().getWorkTree();
+			String commit = commit(writer, "item.json", "{\"name\":\"b\"}");
+			StaleReadException e = assertThrows(StaleReadException.class, () -> consistency.await(commit, () -> {
+				consistency.check(dir);
+				return null;
+			}));
+			assertEquals(commit, e.getCommit());
+		}
+	}
+
+	@Test
+	@SneakyThrows
+	void unknownCommitIsNotContained() {
+		File remote = remote(workspace);
+		try (Git reader = clone(remote, new File(workspace, "read"))) {
+			File dir = reader.getRepository().getWorkTree();
+			ReadConsistency consistency = consistency(100, 20);
+			assertFalse(consistency.contains(dir, "0123456789012345678901234567890123456789"));
+			consistency.check(dir);
+		}
+	}
+
+	@Test
+	@SneakyThrows
+	void revisionExpressionsAreRejected() {
+		File remote = remote(workspace);
+		try (Git reader = clone(remote, new File(workspace, "read"))) {
+			File dir = reader.getRepository().getWorkTree();
+			ReadConsistency consistency = consistency(100, 20);
+			String head = consistency.head(dir);
+			for (String commit : new String[] { "HEAD", "HEAD~1", "master", head.substring(0, 7), null }) {
+				assertThrows(FileStorageException.class, () -> consistency.await(commit, () -> "read"));
+				assertFalse(consistency.contains(dir, commit));
+			}
+			assertEquals("read", consistency.await(head, () -> "read"));
+			assertTrue(consistency.contains(dir, head));
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package io.github.thiagolvlsantos.file.rest.storage.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.thiagolvlsantos.file.rest.storage.rest.IObjectMapper;
+import io.github.thiagolvlsantos.file.rest.storage.rest.ObjectMapperDefault;
+import io.github.thiagolvlsantos.file.storage.resource.Resource;
+import io.github.thiagolvlsantos.file.storage.resource.ResourceContent;
+import io.github.thiagolvlsantos.file.storage.resource.ResourceMetadata;
+import lombok.SneakyThrows;
+import ma.glasnost.orika.impl.DefaultMapperFactory;
+
+class ResourceBlobStoreTest {
+
+	@TempDir
+	File dir;
+
+	private static final String TRAVERSAL = "{\"@blob\":\"../../../../etc/passwd\",\"encoding\":\"identity\"}";
+
+	@SneakyThrows
+	private static void set(Object target, String name, Object value) {
+		Field field = target.getClass().getDeclaredField(name);
+		field.setAccessible(true);
+		field.set(target, value);
+	}
+
+	private static ResourceBlobStore store(boolean enabled, long threshold) {
+		IObjectMapper mapper = new ObjectMapperDefault();
+		set(mapper, "mapperJson", new ObjectMapper());
+		set(mapper, "mapper", new DefaultMapperFactory.Builder().build().getMapperFacade());
+		ResourceBlobStore store = new ResourceBlobStore();
+		set(store, "mapper", mapper);
+		set(store, "enabled", enabled);
+		set(store, "directory", ".blobs");
+		set(store, "compressThreshold", threshold);
+		return store;
+	}
+
+	private static Resource resource(String contentType, String data) {
+		ResourceMetadata metadata = new ResourceMetadata();
+		metadata.setPath("docs/readme.txt");
+		metadata.setContentType(contentType);
+		ResourceContent content = new ResourceContent();
+		content.setData(data.getBytes(StandardCharsets.UTF_8));
+		Resource resource = new Resource();
+		resource.setMetadata(metadata);
+		resource.setContent(content);
+		return resource;
+	}
+
+	@Test
+	void writeAndResolve() {
+		ResourceBlobStore store = store(true, 8);
+		Resource original = resource("text/plain", "some content larger than the threshold");
+		Resource reference = store.reference(original);
+		assertEquals("text/plain", reference.getMetadata().getContentType());
+		store.write(dir, original, reference);
+		Resource resolved = store.resolve(dir, reference);
+		assertEquals("text/plain", resolved.getMetadata().getContentType());
+		assertArrayEquals(original.getContent().getData(), resolved.getContent().getData());
+	}
+
+	@Test
+	void referenceDoesNotWrite() {
+		ResourceBlobStore store = store(true, -1);
+		Resource reference = store.reference(resource("text/plain", "content"));
+		assertFalse(new File(dir, ".blobs").exists());
+		assertSame(reference, store.resolve(dir, reference));
+	}
+
+	@Test
+	void uploadedReferenceIsNotResolved() {
+		ResourceBlobStore store = store(true, -1);
+		Resource original = resource("text/plain", "content");
+		Resource reference = store.reference(original);
+		store.write(dir, original, reference);
+		String forged = new String(reference.getContent().getData(), StandardCharsets.UTF_8).replace("}", " }");
+		Resource upload = resource("application/json", forged);
+		assertSame(upload, store.resolve(dir, upload));
+	}
+
+	@Test
+	void markerLikeContentIsNotAReference() {
+		ResourceBlobStore store = store(false, -1);
+		Resource content = resource("application/json", TRAVERSAL);
+		assertSame(content, store.resolve(dir, content));
+	}
+
+	@Test
+	void invalidHashesAreRejected() {
+		ResourceBlobStore store = store(true, -1);
+		assertThrows(IllegalArgumentException.class, () -> store.blob(dir, "../../../../etc/passwd", false));
+		assertThrows(IllegalArgumentException.class, () -> store.blob(dir, "a", false));
+		assertThrows(IllegalArgumentException.class, () -> store.blob(dir, null, false));
+	}
+
+	@Test
+	void disabledKeepsContent() {
+		Resource content = resource("text/plain", "content");
+		assertSame(content, store(false, -1).reference(content));
+		assertTrue(store(true, -1).reference(content) != content);
+	}
+}
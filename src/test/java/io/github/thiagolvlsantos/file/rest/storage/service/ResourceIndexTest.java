@@ -0,0 +1,125 @@
+package io.github.thiagolvlsantos.file.rest.storage.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.thiagolvlsantos.file.rest.storage.rest.IObjectMapper;
+import io.github.thiagolvlsantos.file.rest.storage.rest.ObjectMapperDefault;
+import io.github.thiagolvlsantos.file.storage.resource.Resource;
+import io.github.thiagolvlsantos.file.storage.resource.ResourceContent;
+import io.github.thiagolvlsantos.file.storage.resource.ResourceMetadata;
+import lombok.SneakyThrows;
+import ma.glasnost.orika.impl.DefaultMapperFactory;
+
+class ResourceIndexTest {
+
+	private static final String KEYS = "a";
+
+	@TempDir
+	File dir;
+
+	@SneakyThrows
+	private static void set(Object target, String name, Object value) {
+		Field field = target.getClass().getDeclaredField(name);
+		field.setAccessible(true);
+		field.set(target, value);
+	}
+
+	private static ResourceIndex index() {
+		IObjectMapper mapper = new ObjectMapperDefault();
+		set(mapper, "mapperJson", new ObjectMapper());
+		set(mapper, "mapper", new DefaultMapperFactory.Builder().build().getMapperFacade());
+		ResourceIndex index = new ResourceIndex();
+		set(index, "mapper", mapper);
+		set(index, "enabled", true);
+		set(index, "directory", ".resources");
+		return index;
+	}
+
+	private static Resource resource(String path, String data) {
+		ResourceMetadata metadata = new ResourceMetadata();
+		metadata.setPath(path);
+		metadata.setContentType("text/plain");
+		ResourceContent content = new ResourceContent();
+		content.setData(data.getBytes(StandardCharsets.UTF_8));
+		Resource resource = new Resource();
+		resource.setMetadata(metadata);
+		resource.setContent(content);
+		return resource;
+	}
+
+	@SneakyThrows
+	private File file(File location, String path, String data) {
+		File file = new File(new File(location, "@resources"), path);
+		file.getParentFile().mkdirs();
+		Files.write(file.toPath(), data.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+
+	@Test
+	void indexedWritesKeepTheGuard() {
+		ResourceIndex index = index();
+		File location = new File(dir, "things/a");
+		file(location, "one.txt", "one");
+		index.put(dir, KEYS, location, null, () -> Collections.singletonList(resource("one.txt", "one")),
+				resource("one.txt", "one"));
+		ResourceIndex.Index current = index.read(dir, KEYS, location);
+		assertNotNull(current);
+
+		file(location, "two.txt", "two");
+		index.put(dir, KEYS, location, current, Collections::emptyList, resource("two.txt", "two"));
+		assertEquals(2, index.list(index.read(dir, KEYS, location), null, null).size());
+	}
+
+	@Test
+	void bypassingWritesInvalidateTheIndex() {
+		ResourceIndex index = index();
+		File location = new File(dir, "things/a");
+		file(location, "one.txt", "one");
+		index.put(dir, KEYS, location, null, () -> Collections.singletonList(resource("one.txt", "one")),
+				resource("one.txt", "one"));
+
+		file(location, "two.txt", "two");
+		assertNull(index.read(dir, KEYS, location));
+	}
+
+	@Test
+	@SneakyThrows
+	void entityFileDoesNotInvalidateTheIndex() {
+		ResourceIndex index = index();
+		File location = new File(dir, "things/a");
+		file(location, "one.txt", "one");
+		index.put(dir, KEYS, location, null, () -> Collections.singletonList(resource("one.txt", "one")),
+				resource("one.txt", "one"));
+
+		Files.write(new File(location, "meta.json").toPath(), "{}".getBytes(StandardCharsets.UTF_8));
+		assertNotNull(index.read(dir, KEYS, location));
+	}
+
+	@Test
+	void removeWithoutValidIndexDropsIt() {
+		ResourceIndex index = index();
+		File location = new File(dir, "things/a");
+		File one = file(location, "one.txt", "one");
+		index.put(dir, KEYS, location, null, () -> Collections.singletonList(resource("one.txt", "one")),
+				resource("one.txt", "one"));
+
+		assertTrue(one.delete());
+		index.remove(dir, KEYS, location, null, "one.txt");
+		assertFalse(index.file(dir, KEYS).exists());
+	}
+}
@@ -0,0 +1,205 @@
+package io.github.thiagolvlsantos.file.rest.storage.service.patch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.thiagolvlsantos.file.storage.exceptions.FileStorageException;
+import lombok.SneakyThrows;
+
+class JsonPatchTest {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	@SneakyThrows
+	private static JsonNode json(String content) {
+		return MAPPER.readTree(content.replace('\'', '"'));
+	}
+
+	private static void assertPatch(String target, String patch, String expected) {
+		assertEquals(json(expected), JsonPatch.apply(json(target), json(patch)));
+	}
+
+	// +------------- RFC 6902, appendix A ------------------+
+
+	@Test
+	void addObjectMember() {
+		assertPatch("{'foo':'bar'}", "[{'op':'add','path':'/baz','value':'qux'}]", "{'baz':'qux','foo':'bar'}");
+	}
+
+	@Test
+	void addArrayElement() {
+		assertPatch("{'foo':['bar','baz']}", "[{'op':'add','path':'/foo/1','value':'qux'}]",
+				"{'foo':['bar','qux','baz']}");
+	}
+
+	@Test
+	void addArrayElementAtEnd() {
+		assertPatch("{'foo':['bar']}", "[{'op':'add','path':'/foo/-','value':['abc','def']}]",
+				"{'foo':['bar',['abc','def']]}");
+	}
+
+	@Test
+	void addNestedMember() {
+		assertPatch("{'foo':'bar'}", "[{'op':'add','path':'/child','value':{'grandchild':{}}}]",
+				"{'foo':'bar','child':{'grandchild':{}}}");
+	}
+
+	@Test
+	void addToNonexistentTarget() {
+		assertThrows(FileStorageException.class,
+				() -> JsonPatch.apply(json("{'foo':'bar'}"), json("[{'op':'add','path':'/baz/bat','value':'qux'}]")));
+	}
+
+	@Test
+	void addArrayIndexOutOfBounds() {
+		assertThrows(FileStorageException.class,
+				() -> JsonPatch.apply(json("{'foo':['bar']}"), json("[{'op':'add','path':'/foo/2','value':'x'}]")));
+	}
+
+	@Test
+	void removeObjectMember() {
+		assertPatch("{'baz':'qux','foo':'bar'}", "[{'op':'remove','path':'/baz'}]", "{'foo':'bar'}");
+	}
+
+	@Test
+	void removeArrayElement() {
+		assertPatch("{'foo':['bar','qux','baz']}", "[{'op':'remove','path':'/foo/1'}]", "{'foo':['bar','baz']}");
+	}
+
+	@Test
+	void removeMissingMember() {
+		assertThrows(FileStorageException.class,
+				() -> JsonPatch.apply(json("{'foo':'bar'}"), json("[{'op':'remove','path':'/baz'}]")));
+	}
+
+	@Test
+	void replaceValue() {
+		assertPatch("{'baz':'qux','foo':'bar'}", "[{'op':'replace','path':'/baz','value':'boo'}]",
+				"{'baz':'boo','foo':'bar'}");
+	}
+
+	@Test
+	void replaceArrayElement() {
+		assertPatch("{'foo':['bar','baz']}", "[{'op':'replace','path':'/foo/0','value':'qux'}]",
+				"{'foo':['qux','baz']}");
+	}
+
+	@Test
+	void replaceKeepsFieldOrder() {
+		JsonNode result = JsonPatch.apply(json("{'a':1,'b':2,'c':3}"),
+				json("[{'op':'replace','path':'/b','value':20}]"));
+		assertEquals("{\"a\":1,\"b\":20,\"c\":3}", result.toString());
+	}
+
+	@Test
+	void replaceMissingMember() {
+		assertThrows(FileStorageException.class,
+				() -> JsonPatch.apply(json("{'foo':'bar'}"), json("[{'op':'replace','path':'/baz','value':1}]")));
+	}
+
+	@Test
+	void moveValue() {
+		assertPatch("{'foo':{'bar':'baz','waldo':'fred'},'qux':{'corge':'grault'}}",
+				"[{'op':'move','from':'/foo/waldo','path':'/qux/thud'}]",
+				"{'foo':{'bar':'baz'},'qux':{'corge':'grault','thud':'fred'}}");
+	}
+
+	@Test
+	void moveArrayElement() {
+		assertPatch("{'foo':['all','grass','cows','eat']}", "[{'op':'move','from':'/foo/1','path':'/foo/3'}]",
+				"{'foo':['all','cows','eat','grass']}");
+	}
+
+	@Test
+	void copyValue() {
+		assertPatch("{'foo':{'bar':1}}", "[{'op':'copy','from':'/foo','path':'/baz'}]",
+				"{'foo':{'bar':1},'baz':{'bar':1}}");
+	}
+
+	@Test
+	void testSuccess() {
+		assertPatch("{'baz':'qux','foo':['a',2,'c']}",
+				"[{'op':'test','path':'/baz','value':'qux'},{'op':'test','path':'/foo/1','value':2}]",
+				"{'baz':'qux','foo':['a',2,'c']}");
+	}
+
+	@Test
+	void testFailure() {
+		assertThrows(FileStorageException.class,
+				() -> JsonPatch.apply(json("{'baz':'qux'}"), json("[{'op':'test','path':'/baz','value':'bar'}]")));
+	}
+
+	@Test
+	void testFailureLeavesTargetUntouched() {
+		JsonNode target = json("{'baz':'qux'}");
+		assertThrows(FileStorageException.class, () -> JsonPatch.apply(target,
+				json("[{'op':'replace','path':'/baz','value':'x'},{'op':'test','path':'/baz','value':'y'}]")));
+		assertEquals(json("{'baz':'qux'}"), target);
+	}
+
+	@Test
+	void escapedPointers() {
+		assertPatch("{'/':9,'~1':10}", "[{'op':'test','path':'/~01','value':10},{'op':'remove','path':'/~1'}]",
+				"{'~1':10}");
+	}
+
+	@Test
+	void invalidOperation() {
+		assertThrows(FileStorageException.class,
+				() -> JsonPatch.apply(json("{'foo':'bar'}"), json("[{'op':'frobnicate','path':'/foo'}]")));
+	}
+
+	@Test
+	void missingValue() {
+		assertThrows(FileStorageException.class,
+				() -> JsonPatch.apply(json("{'foo':'bar'}"), json("[{'op':'add','path':'/baz'}]")));
+	}
+
+	// +------------- RFC 7386, appendix A ------------------+
+
+	@Test
+	void mergeReplacesScalars() {
+		assertPatch("{'a':'b'}", "{'a':'c'}", "{'a':'c'}");
+		assertPatch("{'a':'b'}", "{'b':'c'}", "{'a':'b','b':'c'}");
+	}
+
+	@Test
+	void mergeRemovesNulls() {
+		assertPatch("{'a':'b'}", "{'a':null}", "{}");
+		assertPatch("{'a':'b','b':'c'}", "{'a':null}", "{'b':'c'}");
+		assertPatch("{'a':{'b':'c'}}", "{'a':{'b':'d','c':null}}", "{'a':{'b':'d'}}");
+	}
+
+	@Test
+	void mergeReplacesArrays() {
+		assertPatch("{'a':['b']}", "{'a':'c'}", "{'a':'c'}");
+		assertPatch("{'a':'c'}", "{'a':['b']}", "{'a':['b']}");
+		assertPatch("{'a':[{'b':'c'}]}", "{'a':[1]}", "{'a':[1]}");
+	}
+
+	@Test
+	void mergeNestedNullsOnNewMembers() {
+		assertPatch("{'e':null}", "{'a':1}", "{'e':null,'a':1}");
+		assertPatch("{}", "{'a':{'bb':{'ccc':null}}}", "{'a':{'bb':{}}}");
+	}
+
+	@Test
+	void mergeNonObjectPatchReplacesTarget() {
+		assertPatch("{'a':'foo'}", "'bar'", "'bar'");
+		assertPatch("{'a':'foo'}", "null", "null");
+	}
+
+	// +------------- DIFF ------------------+
+
+	@Test
+	void diffRoundTrip() {
+		JsonNode source = json("{'a':1,'b':{'c':2,'d/e':3},'f':[1,2]}");
+		JsonNode target = json("{'a':1,'b':{'c':5},'f':[1],'g':true}");
+		assertEquals(target, JsonPatch.patch(source.deepCopy(), JsonPatch.diff(source, target)));
+	}
+}